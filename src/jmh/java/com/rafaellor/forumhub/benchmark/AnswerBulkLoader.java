@@ -0,0 +1,55 @@
+package com.rafaellor.forumhub.benchmark;
+
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.service.TopicActivityService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk insert path for answers used by {@link AnswerImportBenchmark}, registered as an extra source of
+ * its application context. Rows are persisted in groups of {@code hibernate.jdbc.batch_size}; each
+ * group is flushed as one JDBC batch and then cleared from the persistence context. No outbox events
+ * are written, so the loaded answers only reach the search index on its next rebuild.
+ */
+class AnswerBulkLoader {
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TopicActivityService topicActivityService;
+
+    @Transactional
+    public int load(Long topicId, Long authorId, List<String> messages) {
+        int loaded = 0;
+        for (String message : messages) {
+            // References only, the rows are never loaded
+            Topic topic = entityManager.getReference(Topic.class, topicId);
+            User author = entityManager.getReference(User.class, authorId);
+            entityManager.persist(new Answer(message, topic, author));
+
+            if (++loaded % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        if (loaded > 0) {
+            topicActivityService.answersAdded(topicId, loaded, LocalDateTime.now());
+        }
+        return loaded;
+    }
+}
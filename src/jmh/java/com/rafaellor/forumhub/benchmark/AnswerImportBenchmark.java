@@ -0,0 +1,74 @@
+package com.rafaellor.forumhub.benchmark;
+
+import com.rafaellor.forumhub.ForumhubApplication;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.CourseRepository;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Loads answers through {@link AnswerBulkLoader} with JDBC batching effectively off
+ * ({@code batch_size=1}) and on. Runs against in-memory H2 by default; pass
+ * {@code -Dbenchmark.datasource.url=jdbc:mysql://...?user=...&password=...&rewriteBatchedStatements=true}
+ * to measure a real MySQL, where the gap is much wider because each batch is one round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dbenchmark.datasource.url=jdbc:h2:mem:answer-import;DB_CLOSE_DELAY=-1")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AnswerImportBenchmark {
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"1000"})
+    private int answers;
+
+    private ConfigurableApplicationContext context;
+    private AnswerBulkLoader answerBulkLoader;
+    private List<String> messages;
+    private Long topicId;
+    private Long authorId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ForumhubApplication.class, AnswerBulkLoader.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=" + System.getProperty("benchmark.datasource.url"),
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--logging.level.root=WARN");
+        answerBulkLoader = context.getBean(AnswerBulkLoader.class);
+
+        User author = context.getBean(UserRepository.class)
+                .save(new User(null, "Import Benchmark", "import-" + batchSize + "@forumhub.com", "import.bench." + batchSize, "password", null));
+        Course course = context.getBean(CourseRepository.class).save(new Course(null, "Import Benchmark " + batchSize, "Benchmark"));
+        Topic topic = context.getBean(TopicRepository.class)
+                .save(new Topic("Import benchmark topic " + batchSize, "Receives the imported answers, batch size " + batchSize, author, course));
+        authorId = author.getId();
+        topicId = topic.getId();
+        messages = IntStream.range(0, answers).mapToObj(i -> "Imported benchmark answer #" + i).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int importAnswers() {
+        return answerBulkLoader.load(topicId, authorId, messages);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rafaellor.forumhub.benchmark;
+
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.Profile;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the services used by the benchmarks outside of a Spring context, wiring the
+ * {@code @Autowired}/{@code @Value} fields by hand.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret";
+
+    private BenchmarkFixtures() {
+    }
+
+    static TokenService newTokenService() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "verifiedCacheSize", 10_000L);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        return tokenService;
+    }
+
+    static PrincipalCacheService newPrincipalCacheService() {
+        PrincipalCacheService principalCacheService = new PrincipalCacheService();
+        ReflectionTestUtils.setField(principalCacheService, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(principalCacheService, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(principalCacheService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(principalCacheService, "init");
+        return principalCacheService;
+    }
+
+    static User user() {
+        return new User(1L, "Benchmark User", "bench@forumhub.com", "bench.user", "password",
+                Set.of(new Profile(1L, "ROLE_USER")));
+    }
+
+    static Topic topic(long id, User author, Course course) {
+        return new Topic(id, "Benchmark topic " + id, "A message long enough to look like a real topic body #" + id,
+                LocalDateTime.now(), true, author, course, List.of());
+    }
+
+    static Answer answer(long id, Topic topic, User author) {
+        return new Answer(id, "An answer to the benchmark topic #" + id, topic, LocalDateTime.now(), author, false);
+    }
+}
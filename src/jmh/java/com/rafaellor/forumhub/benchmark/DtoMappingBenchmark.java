@@ -0,0 +1,80 @@
+package com.rafaellor.forumhub.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and the JSON serialization of a {@code GET /topics} page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Topic topic;
+    private Answer answer;
+    private Page<Topic> topicPage;
+    private Page<TopicResponseDto> topicResponsePage;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot builds for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User author = BenchmarkFixtures.user();
+        Course course = new Course(1L, "Spring Boot 3", "Backend");
+        topic = BenchmarkFixtures.topic(1L, author, course);
+        answer = BenchmarkFixtures.answer(1L, topic, author);
+
+        List<Topic> topics = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            topics.add(BenchmarkFixtures.topic(id, author, course));
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "creationDate"));
+        topicPage = new PageImpl<>(topics, pageable, pageSize * 10L);
+        topicResponsePage = topicPage.map(TopicResponseDto::new);
+    }
+
+    @Benchmark
+    public TopicResponseDto topicResponseDto() {
+        return new TopicResponseDto(topic);
+    }
+
+    @Benchmark
+    public AnswerResponseDto answerResponseDto() {
+        return new AnswerResponseDto(answer);
+    }
+
+    @Benchmark
+    public Page<TopicResponseDto> mapTopicPage() {
+        return topicPage.map(TopicResponseDto::new);
+    }
+
+    @Benchmark
+    public byte[] serializeTopicPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(topicResponsePage);
+    }
+}
@@ -0,0 +1,128 @@
+package com.rafaellor.forumhub.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform and virtual thread modes of a running
+ * instance. Each of the {@code concurrency} clients sends a request, waits for the response and repeats
+ * until the duration elapses; responses received during the warmup are discarded.
+ *
+ * <p>Arguments: {@code <url> [concurrency=200] [durationSeconds=30] [warmupSeconds=10]}. The bearer token,
+ * if any, is read from the {@code FORUMHUB_TOKEN} environment variable.
+ */
+public final class HttpLoadGenerator {
+
+    private HttpLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: HttpLoadGenerator <url> [concurrency] [durationSeconds] [warmupSeconds]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10);
+        String token = System.getenv("FORUMHUB_TOKEN");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null && !token.isBlank()) {
+            requestBuilder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = requestBuilder.build();
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        List<Future<WorkerResult>> futures = new ArrayList<>(concurrency);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> runWorker(client, request, measureStart, end)));
+            }
+        }
+
+        List<WorkerResult> results = new ArrayList<>(concurrency);
+        int total = 0;
+        long errors = 0;
+        for (Future<WorkerResult> future : futures) {
+            WorkerResult result = future.get();
+            results.add(result);
+            total += result.latencies().length;
+            errors += result.errors();
+        }
+        // Copied once into an array sized up front, rather than growing it for every worker
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (WorkerResult result : results) {
+            System.arraycopy(result.latencies(), 0, latencies, offset, result.latencies().length);
+            offset += result.latencies().length;
+        }
+        Arrays.sort(latencies);
+
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf("url=%s concurrency=%d duration=%ds%n", uri, concurrency, duration.toSeconds());
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                latencies.length, errors, latencies.length / seconds);
+        System.out.printf("latency p50=%.2fms p99=%.2fms max=%.2fms%n",
+                percentile(latencies, 50), percentile(latencies, 99), percentile(latencies, 100));
+    }
+
+    private static WorkerResult runWorker(HttpClient client, HttpRequest request, long measureStart, long end) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= end) {
+                break;
+            }
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long finished = System.nanoTime();
+            if (start < measureStart || finished > end) {
+                continue;
+            }
+            if (!ok) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = finished - start;
+        }
+        return new WorkerResult(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private record WorkerResult(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.rafaellor.forumhub.benchmark;
+
+import com.rafaellor.forumhub.config.SecurityFilter;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request in {@link SecurityFilter}, with the repository mocked out
+ * so the numbers isolate token handling and principal resolution from the database.
+ * {@code repositoryLookup} only runs in stateful mode: a stateless token never reaches the repository.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SecurityFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class AnyMode extends FilterState {
+        @Param({"false", "true"})
+        private boolean stateless;
+
+        @Setup
+        public void setUp() {
+            init(stateless);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StatefulMode extends FilterState {
+        @Setup
+        public void setUp() {
+            init(false);
+        }
+    }
+
+    abstract static class FilterState {
+        SecurityFilter securityFilter;
+        PrincipalCacheService principalCacheService;
+        String authorizationHeader;
+
+        void init(boolean stateless) {
+            User user = BenchmarkFixtures.user();
+            TokenService tokenService = BenchmarkFixtures.newTokenService();
+            principalCacheService = BenchmarkFixtures.newPrincipalCacheService();
+
+            UserRepository userRepository = Mockito.mock(UserRepository.class);
+            Mockito.when(userRepository.findByUsername(user.getUsername())).thenReturn(user);
+
+            securityFilter = new SecurityFilter();
+            ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+            ReflectionTestUtils.setField(securityFilter, "userRepository", userRepository);
+            ReflectionTestUtils.setField(securityFilter, "principalCacheService", principalCacheService);
+            ReflectionTestUtils.setField(securityFilter, "stateless", stateless);
+            ReflectionTestUtils.setField(securityFilter, "meterRegistry", new SimpleMeterRegistry());
+            ReflectionTestUtils.invokeMethod(securityFilter, "init");
+
+            authorizationHeader = "Bearer " + tokenService.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse cachedPrincipal(AnyMode state) throws ServletException, IOException {
+        return filter(state);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse repositoryLookup(StatefulMode state) throws ServletException, IOException {
+        state.principalCacheService.invalidateAll();
+        return filter(state);
+    }
+
+    private static MockHttpServletResponse filter(FilterState state) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topics");
+        request.addHeader("Authorization", state.authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        state.securityFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
@@ -0,0 +1,56 @@
+package com.rafaellor.forumhub.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.rafaellor.forumhub.service.TokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original per-call verification (new Algorithm + new verifier every time)
+ * with a prebuilt verifier and with {@link TokenService#getSubject}, which also caches verified tokens.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenVerificationBenchmark {
+
+    private static final String SECRET = BenchmarkFixtures.SECRET;
+    private static final String ISSUER = "API Forum Hub";
+
+    private TokenService tokenService;
+    private JWTVerifier prebuiltVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = BenchmarkFixtures.newTokenService();
+        prebuiltVerifier = JWT.require(Algorithm.HMAC256(SECRET)).withIssuer(ISSUER).build();
+        token = tokenService.generateToken(BenchmarkFixtures.user());
+    }
+
+    @Benchmark
+    public String legacyVerify() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String prebuiltVerifier() {
+        return prebuiltVerifier.verify(token).getSubject();
+    }
+
+    @Benchmark
+    public String cachedGetSubject() {
+        return tokenService.getSubject(token);
+    }
+}
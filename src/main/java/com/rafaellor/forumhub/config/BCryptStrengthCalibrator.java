@@ -0,0 +1,46 @@
+package com.rafaellor.forumhub.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost factor for this machine: the highest strength in {@code [min, max]} whose
+ * encode time stays within the target. Each extra point of strength doubles the work.
+ */
+@Slf4j
+final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    static int calibrate(Duration target, int min, int max) {
+        // First call pays for class loading and SecureRandom seeding
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        int strength = min;
+        for (int candidate = min; candidate <= max; candidate++) {
+            long elapsedNanos = timeEncode(candidate);
+            if (candidate > min && elapsedNanos > target.toNanos()) {
+                break;
+            }
+            strength = candidate;
+            // The next strength takes about twice as long; stop measuring if that would overshoot
+            if (elapsedNanos * 2 > target.toNanos()) {
+                break;
+            }
+        }
+        log.info("BCrypt strength calibrated to {} (target {} ms, allowed range {}-{})", strength, target.toMillis(), min, max);
+        return strength;
+    }
+
+    private static long timeEncode(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,119 @@
+package com.rafaellor.forumhub.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * With virtual threads Tomcat no longer caps in-flight requests at its worker pool size, so every
+ * request could end up waiting on a Hikari connection. This filter restores a bound: requests beyond
+ * {@code api.virtual-threads.max-concurrent-requests} wait briefly and are then rejected with 503.
+ * <p>
+ * An async request (the {@code /admin/export} stream) keeps its permit until it completes,
+ * since it can keep using the database after the handler returns. Topic event streams are the
+ * exception: they only read the database before the stream opens, are capped separately by
+ * {@code api.events.max-subscribers}, and would otherwise hold permits for up to their timeout.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern EVENT_STREAM = Pattern.compile("/topics/[^/]+/events");
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public ConcurrencyLimitFilter(@Value("${api.virtual-threads.max-concurrent-requests:200}") int maxConcurrentRequests,
+                                  @Value("${api.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, try again later");
+            return;
+        }
+
+        Runnable release = releaseOnce();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted() && !isEventStream(request)) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        return EVENT_STREAM.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    // Whichever callback comes first releases the permit; onComplete normally follows the others
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next async cycle, which reuses this permit
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
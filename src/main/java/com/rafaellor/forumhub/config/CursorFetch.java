@@ -0,0 +1,15 @@
+package com.rafaellor.forumhub.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, and the transaction it opens, on a connection from the cursor-fetch pool.
+ * Only for long streaming reads; see {@link DataSourceConfig}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CursorFetch {
+}
@@ -0,0 +1,22 @@
+package com.rafaellor.forumhub.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Ordered before the transaction interceptor, so the transaction already gets the cursor-fetch connection
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CursorFetchAspect {
+
+    @Around("@annotation(com.rafaellor.forumhub.config.CursorFetch)")
+    public Object useCursorFetchPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (CursorFetchDataSource.Scope ignored = CursorFetchDataSource.open()) {
+            return joinPoint.proceed();
+        }
+    }
+}
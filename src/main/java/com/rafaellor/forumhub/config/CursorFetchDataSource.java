@@ -0,0 +1,33 @@
+package com.rafaellor.forumhub.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the cursor-fetch pool while a {@link #open() scope} is open on the current
+ * thread, and from the default pool otherwise. The scope has to be opened before the transaction starts,
+ * because the connection is taken when it begins.
+ */
+public class CursorFetchDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static Scope open() {
+        boolean previous = ACTIVE.get();
+        ACTIVE.set(true);
+        return () -> ACTIVE.set(previous);
+    }
+
+    static boolean isActive() {
+        return ACTIVE.get();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ACTIVE.get();
+    }
+}
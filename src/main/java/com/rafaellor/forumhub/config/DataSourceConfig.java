@@ -0,0 +1,54 @@
+package com.rafaellor.forumhub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Two Hikari pools behind one routing DataSource. The default pool is the one Boot would create from
+ * {@code spring.datasource.*}. The cursor-fetch pool opens its connections with Connector/J's
+ * {@code useCursorFetch}, so a statement with a fetch size reads its rows in blocks through a server-side
+ * cursor. That also switches the connection to server-side prepared statements, which is why only the
+ * long streaming reads ({@link CursorFetch}) are routed there and everything else keeps the default pool.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource defaultPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource cursorFetchPool(DataSourceProperties properties,
+                                            @Qualifier("defaultPool") HikariDataSource defaultPool,
+                                            @Value("${api.datasource.cursor-fetch.maximum-pool-size:4}") int maximumPoolSize) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("cursor-fetch");
+        pool.setMaximumPoolSize(maximumPoolSize);
+        pool.setMinimumIdle(0);
+        pool.setConnectionTimeout(defaultPool.getConnectionTimeout());
+        defaultPool.getDataSourceProperties().forEach((name, value) -> pool.addDataSourceProperty(name.toString(), value));
+        pool.addDataSourceProperty("useCursorFetch", "true");
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("defaultPool") HikariDataSource defaultPool,
+                                 @Qualifier("cursorFetchPool") HikariDataSource cursorFetchPool) {
+        CursorFetchDataSource dataSource = new CursorFetchDataSource();
+        dataSource.setTargetDataSources(Map.of(false, defaultPool, true, cursorFetchPool));
+        dataSource.setDefaultTargetDataSource(defaultPool);
+        return dataSource;
+    }
+}
@@ -2,12 +2,15 @@ package com.rafaellor.forumhub.config;
 
 import com.rafaellor.forumhub.dto.ErrorResponseDto;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class ErrorHandler {
@@ -69,9 +73,23 @@ public class ErrorHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponseDto> handleIllegalArgument(IllegalArgumentException ex, WebRequest request) {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                ((ServletWebRequest)request).getRequest().getRequestURI(),
+                null
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponseDto> handleDataIntegrityViolation(DataIntegrityViolationException ex, WebRequest request) {
-        String detailMessage = Objects.requireNonNull(ex.getRootCause()).getMessage();
+        // Thrown by the controllers without a cause for duplicates they detect themselves
+        String detailMessage = ex.getMostSpecificCause().getMessage();
         String specificMessage = "Data integrity violation. This resource might already exist or has invalid related data.";
         if (detailMessage != null) {
             if (detailMessage.contains("Duplicate entry")) {
@@ -92,6 +110,23 @@ public class ErrorHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    // Raised when no pooled connection frees up within spring.datasource.hikari.connection-timeout,
+    // or when the password hashing queue is full
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class, RejectedExecutionException.class})
+    public ResponseEntity<ErrorResponseDto> handleServiceUnavailable(Exception ex, WebRequest request) {
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                "The server is busy, please try again later.",
+                ((ServletWebRequest)request).getRequest().getRequestURI(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponseDto> handleBadCredentials(BadCredentialsException ex, WebRequest request) {
         ErrorResponseDto errorResponse = new ErrorResponseDto(
@@ -0,0 +1,35 @@
+package com.rafaellor.forumhub.config;
+
+import com.rafaellor.forumhub.service.PasswordHashingService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Sends {@code encode} and {@code matches} to the {@link PasswordHashingService} pool and waits for the result.
+ * The caller keeps the user lookup, the rehash write and its transaction on the request thread; only the
+ * BCrypt work is bounded by the pool, and a full queue still surfaces as a 503.
+ */
+class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingService passwordHashingService;
+
+    PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingService passwordHashingService) {
+        this.delegate = delegate;
+        this.passwordHashingService = passwordHashingService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingService.call("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingService.call("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
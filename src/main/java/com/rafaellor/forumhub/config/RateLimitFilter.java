@@ -0,0 +1,118 @@
+package com.rafaellor.forumhub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for the expensive write endpoints. Runs right after {@link SecurityFilter},
+ * so authenticated requests are limited per JWT subject and anonymous ones (login, register) per remote
+ * address. Idle buckets expire from the store.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Value("${api.rate-limit.writes.capacity:20}")
+    private long writesCapacity;
+
+    @Value("${api.rate-limit.writes.per-minute:30}")
+    private double writesPerMinute;
+
+    @Value("${api.rate-limit.login.capacity:5}")
+    private long loginCapacity;
+
+    @Value("${api.rate-limit.login.per-minute:10}")
+    private double loginPerMinute;
+
+    @Value("${api.rate-limit.idle-timeout:10m}")
+    private Duration idleTimeout;
+
+    @Value("${api.rate-limit.max-buckets:100000}")
+    private long maxBuckets;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return limitGroup(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String group = limitGroup(request);
+        long capacity = "login".equals(group) ? loginCapacity : writesCapacity;
+        double perMinute = "login".equals(group) ? loginPerMinute : writesPerMinute;
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(group + ":" + clientKey(request), key -> new TokenBucket(capacity, perMinute / 60, now));
+        long waitNanos = bucket.tryConsume(now);
+
+        if (waitNanos > 0) {
+            Counter.builder("forumhub.ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("group", group)
+                    .register(meterRegistry)
+                    .increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String limitGroup(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return null;
+        }
+        return switch (request.getServletPath()) {
+            case "/login", "/register" -> "login";
+            case "/topics", "/answers" -> "writes";
+            default -> null;
+        };
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,16 @@
+package com.rafaellor.forumhub.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps the annotated handler only for requests whose {@code Prefer} header asks for {@code respond-async},
+ * whatever other preferences come with it (e.g. {@code Prefer: respond-async, wait=5}). Without it the
+ * request falls through to the mapping without this annotation. See {@link RespondAsyncConfig}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RespondAsync {
+}
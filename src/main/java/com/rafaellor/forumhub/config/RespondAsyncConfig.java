@@ -0,0 +1,62 @@
+package com.rafaellor.forumhub.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.mvc.condition.RequestCondition;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+/**
+ * Adds the {@link RespondAsync} condition to the annotated handler methods. A {@code headers} mapping
+ * cannot express it, since it only matches the exact header value.
+ */
+@Configuration
+public class RespondAsyncConfig implements WebMvcRegistrations {
+
+    @Override
+    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        return new RequestMappingHandlerMapping() {
+            @Override
+            protected RequestCondition<?> getCustomMethodCondition(Method method) {
+                return AnnotatedElementUtils.hasAnnotation(method, RespondAsync.class) ? new RespondAsyncCondition() : null;
+            }
+        };
+    }
+
+    // Preferences (RFC 7240) are comma separated, may carry a value and parameters, and may be sent in several headers
+    static boolean prefersRespondAsync(HttpServletRequest request) {
+        for (String header : Collections.list(request.getHeaders("Prefer"))) {
+            for (String preference : header.split(",")) {
+                String token = preference.split("[;=]", 2)[0].trim();
+                if (token.equalsIgnoreCase("respond-async")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static class RespondAsyncCondition implements RequestCondition<RespondAsyncCondition> {
+
+        @Override
+        public RespondAsyncCondition combine(RespondAsyncCondition other) {
+            return this;
+        }
+
+        @Override
+        public RespondAsyncCondition getMatchingCondition(HttpServletRequest request) {
+            return CorsUtils.isPreFlightRequest(request) || prefersRespondAsync(request) ? this : null;
+        }
+
+        // A mapping with the condition already wins over one without it; between two of them there is no order
+        @Override
+        public int compareTo(RespondAsyncCondition other, HttpServletRequest request) {
+            return 0;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.rafaellor.forumhub.config;
 
+import com.rafaellor.forumhub.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod; // Import HttpMethod
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -10,9 +13,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -21,6 +29,12 @@ public class SecurityConfig {
     @Autowired
     private SecurityFilter securityFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private Environment environment;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
@@ -29,20 +43,59 @@ public class SecurityConfig {
                 .authorizeHttpRequests(req -> {
                     req.requestMatchers(HttpMethod.POST, "/login", "/register").permitAll();
                     req.requestMatchers("/h2-console/**").permitAll();
+                    req.requestMatchers("/actuator/health").permitAll();
+                    // Scrapers reach Prometheus on the management port, which is not published to clients;
+                    // on the API port it is admin-only
+                    req.requestMatchers(prometheusOnManagementPort()).permitAll();
+                    req.requestMatchers("/actuator/prometheus").hasRole("ADMIN");
+                    // Lets 429/503 responses from our filters reach the error page instead of becoming 401/403
+                    req.requestMatchers("/error").permitAll();
+                    req.requestMatchers("/admin/**").hasRole("ADMIN");
                     req.anyRequest().authenticated();
                 })
                 .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()))
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, SecurityFilter.class)
                 .build();
     }
 
+    // This chain also guards the management server when it runs on its own port. Boot publishes that
+    // port as local.management.port once it has started, and only when it differs from the API port.
+    private RequestMatcher prometheusOnManagementPort() {
+        return request -> {
+            Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+            return managementPort != null
+                    && request.getLocalPort() == managementPort
+                    && "/actuator/prometheus".equals(request.getRequestURI());
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
     }
 
+    /**
+     * New hashes are stored as {@code {bcrypt}...} at the configured or calibrated strength. Legacy
+     * unprefixed hashes still match, and {@code AuthenticationService.updatePassword} re-encodes any
+     * outdated hash after a successful login. The hashing itself runs on the bounded
+     * {@link PasswordHashingService} pool.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${api.security.password.bcrypt-strength:0}") int fixedStrength,
+                                           @Value("${api.security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${api.security.password.min-strength:10}") int minStrength,
+                                           @Value("${api.security.password.max-strength:14}") int maxStrength,
+                                           PasswordHashingService passwordHashingService) {
+        int strength = fixedStrength > 0
+                ? fixedStrength
+                : BCryptStrengthCalibrator.calibrate(targetHashTime, minStrength, maxStrength);
+        return new PooledPasswordEncoder(delegatingPasswordEncoder(new BCryptPasswordEncoder(strength)), passwordHashingService);
+    }
+
+    static PasswordEncoder delegatingPasswordEncoder(BCryptPasswordEncoder bcrypt) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
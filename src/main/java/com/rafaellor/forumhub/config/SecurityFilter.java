@@ -1,12 +1,18 @@
 package com.rafaellor.forumhub.config;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
 import com.rafaellor.forumhub.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +30,28 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCacheService principalCacheService;
+
+    @Value("${api.security.token.stateless:false}")
+    private boolean stateless;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer verificationTimer;
+    private Timer lookupTimer;
+
+    @PostConstruct
+    void init() {
+        verificationTimer = Timer.builder("forumhub.auth.token.verification")
+                .description("JWT verification in SecurityFilter")
+                .register(meterRegistry);
+        lookupTimer = Timer.builder("forumhub.auth.user.lookup")
+                .description("Principal resolution in SecurityFilter (cache or database)")
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -31,8 +59,12 @@ public class SecurityFilter extends OncePerRequestFilter {
         var tokenJWT = recoverToken(request);
 
         if (tokenJWT != null) {
-            var subject = tokenService.getSubject(tokenJWT);
-            UserDetails user = userRepository.findByUsername(subject);
+            // Verified once; legacy tokens without the id and roles claims fall back to the user lookup
+            DecodedJWT jwt = verificationTimer.record(() -> tokenService.verify(tokenJWT));
+            UserDetails user = stateless ? tokenService.getStatelessPrincipal(jwt) : null;
+            if (user == null) {
+                user = lookupTimer.record(() -> principalCacheService.get(jwt.getSubject(), userRepository::findByUsername));
+            }
 
             var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authentication);
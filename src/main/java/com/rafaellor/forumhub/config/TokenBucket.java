@@ -0,0 +1,41 @@
+package com.rafaellor.forumhub.config;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the state is an immutable snapshot swapped with compare-and-set,
+ * so concurrent requests for the same key never block each other.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if the token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double available = Math.min(capacity, current.tokens() + (nowNanos - current.refilledAtNanos()) * tokensPerNano);
+            if (available < 1) {
+                return (long) Math.ceil((1 - available) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(available - 1, nowNanos))) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.rafaellor.forumhub.controller;
+
+import com.rafaellor.forumhub.dto.ExportFormat;
+import com.rafaellor.forumhub.dto.ImportReportDto;
+import com.rafaellor.forumhub.service.ExportService;
+import com.rafaellor.forumhub.service.SearchIndexService;
+import com.rafaellor.forumhub.service.TopicImportService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@Timed(value = "forumhub.controller", histogram = true)
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    private TopicImportService topicImportService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    /**
+     * Bulk loads topics and their answers from an NDJSON body, one topic per line. The body is read
+     * as a stream, so its size is not limited by memory.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReportDto> importTopics(InputStream body) throws IOException {
+        return ResponseEntity.ok(topicImportService.importTopics(body));
+    }
+
+    /**
+     * Streams every topic ({@code /admin/export/topics}) or answer ({@code /admin/export/answers})
+     * as NDJSON (default) or CSV ({@code ?format=csv}).
+     */
+    @GetMapping("/export/{type}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String type,
+                                                       @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = switch (type) {
+            case "topics" -> out -> exportService.exportTopics(out, exportFormat);
+            case "answers" -> out -> exportService.exportAnswers(out, exportFormat);
+            default -> null;
+        };
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(type + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Rebuilds the search index from the database, as the nightly job does. Searches keep answering
+     * from the current index until the rebuild finishes.
+     */
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Map<String, Long>> reindex() throws IOException {
+        return ResponseEntity.ok(Map.of("topicsIndexed", searchIndexService.rebuild()));
+    }
+}
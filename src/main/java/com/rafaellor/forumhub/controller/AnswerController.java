@@ -3,10 +3,15 @@ package com.rafaellor.forumhub.controller;
 import com.rafaellor.forumhub.dto.AnswerCreateDto;
 import com.rafaellor.forumhub.dto.AnswerResponseDto;
 import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.OutboxEventType;
 import com.rafaellor.forumhub.model.Topic;
 import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.repository.AnswerRepository;
 import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.service.OutboxService;
+import com.rafaellor.forumhub.service.TopicActivityService;
+import com.rafaellor.forumhub.service.TopicEventBus;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +27,7 @@ import org.springframework.http.HttpStatus;
 import java.net.URI;
 
 @RestController
+@Timed(value = "forumhub.controller", histogram = true)
 @RequestMapping("/answers")
 public class AnswerController {
 
@@ -31,6 +37,15 @@ public class AnswerController {
     @Autowired
     private TopicRepository topicRepository;
 
+    @Autowired
+    private TopicActivityService topicActivityService;
+
+    @Autowired
+    private TopicEventBus topicEventBus;
+
+    @Autowired
+    private OutboxService outboxService;
+
     @PostMapping
     @Transactional
     public ResponseEntity<AnswerResponseDto> createAnswer(@RequestBody @Valid AnswerCreateDto createDto, UriComponentsBuilder uriBuilder) {
@@ -42,10 +57,15 @@ public class AnswerController {
 
         Answer answer = new Answer(createDto.getMessage(), topic, author);
         answerRepository.save(answer);
+        topicActivityService.answerAdded(topic.getId(), answer.getCreationDate());
+
+        AnswerResponseDto response = new AnswerResponseDto(answer);
+        outboxService.record(OutboxEventType.ANSWER_CREATED, topic.getId(), answer.getId(), response);
+        topicEventBus.publish(topic.getId(), "answer-created", answer.getId(), response);
 
         // Return a 201 Created response
         URI uri = uriBuilder.path("/answers/{id}").buildAndExpand(answer.getId()).toUri();
-        return ResponseEntity.created(uri).body(new AnswerResponseDto(answer));
+        return ResponseEntity.created(uri).body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -56,11 +76,13 @@ public class AnswerController {
 
         // Optional: Add authorization logic here. For example, only the author or an admin can delete.
         // User authenticatedUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        // if (!answer.getAuthor().equals(authenticatedUser)) {
+        // if (!authenticatedUser.isSameUserAs(answer.getAuthor())) {
         //     return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         // }
 
         answerRepository.delete(answer);
+        topicActivityService.answerRemoved(answer.getTopic().getId(), answer.getId());
+        outboxService.record(OutboxEventType.ANSWER_DELETED, answer.getTopic().getId(), answer.getId(), null);
         return ResponseEntity.noContent().build();
     }
     @PutMapping("/{id}")
@@ -70,13 +92,17 @@ public class AnswerController {
                 .orElseThrow(() -> new EntityNotFoundException("Answer not found with id: " + id));
 
         User authenticatedUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!answer.getAuthor().equals(authenticatedUser)) {
+        if (!authenticatedUser.isSameUserAs(answer.getAuthor())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
         answer.setMessage(updateDto.getMessage());
+        topicActivityService.touch(answer.getTopic().getId());
 
-        return ResponseEntity.ok(new AnswerResponseDto(answer));
+        AnswerResponseDto response = new AnswerResponseDto(answer);
+        outboxService.record(OutboxEventType.ANSWER_UPDATED, answer.getTopic().getId(), answer.getId(), response);
+        topicEventBus.publish(answer.getTopic().getId(), "answer-updated", answer.getId(), response);
+        return ResponseEntity.ok(response);
     }
 
     @PatchMapping("/{id}/solution")
@@ -86,11 +112,15 @@ public class AnswerController {
                 .orElseThrow(() -> new EntityNotFoundException("Answer not found with id: " + id));
         Topic topic = answer.getTopic();
         User authenticatedUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (!topic.getAuthor().equals(authenticatedUser)) {
+        if (!authenticatedUser.isSameUserAs(topic.getAuthor())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         answer.setSolution(true);
         topic.close();
+        topicActivityService.solutionMarked(topic.getId(), answer.getId());
+        AnswerResponseDto response = new AnswerResponseDto(answer);
+        outboxService.record(OutboxEventType.ANSWER_SOLUTION_MARKED, topic.getId(), answer.getId(), response);
+        topicEventBus.publish(topic.getId(), "answer-solution", answer.getId(), response);
 
         return ResponseEntity.noContent().build();
     }
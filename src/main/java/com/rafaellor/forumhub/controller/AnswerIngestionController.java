@@ -0,0 +1,62 @@
+package com.rafaellor.forumhub.controller;
+
+import com.rafaellor.forumhub.config.RespondAsync;
+import com.rafaellor.forumhub.dto.AnswerCreateDto;
+import com.rafaellor.forumhub.dto.AnswerIngestionStatusDto;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.service.AnswerIngestionService;
+import com.rafaellor.forumhub.service.AnswerIngestionService.TrackedStatus;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+// Only requests preferring respond-async land here; every other POST /answers stays synchronous
+@RestController
+@Timed(value = "forumhub.controller", histogram = true)
+@RequestMapping("/answers")
+@ConditionalOnProperty(name = "api.answers.ingestion.enabled", havingValue = "true")
+public class AnswerIngestionController {
+
+    @Autowired
+    private AnswerIngestionService answerIngestionService;
+
+    @PostMapping
+    @RespondAsync
+    public ResponseEntity<AnswerIngestionStatusDto> submitAnswer(@RequestBody @Valid AnswerCreateDto createDto, UriComponentsBuilder uriBuilder) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        User author = (User) authentication.getPrincipal();
+
+        AnswerIngestionStatusDto status = answerIngestionService.submit(createDto.getTopicId(), author, createDto.getMessage());
+
+        // Return a 202 Accepted response pointing at the status of the queued answer
+        URI uri = uriBuilder.path("/answers/ingestion/{trackingId}").buildAndExpand(status.getTrackingId()).toUri();
+        return ResponseEntity.accepted()
+                .location(uri)
+                .header("Preference-Applied", "respond-async")
+                .body(status);
+    }
+
+    @GetMapping("/ingestion/{trackingId}")
+    public ResponseEntity<AnswerIngestionStatusDto> getIngestionStatus(@PathVariable UUID trackingId) {
+        TrackedStatus tracked = answerIngestionService.getStatus(trackingId).orElse(null);
+        if (tracked == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        User authenticatedUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!tracked.isSubmittedBy(authenticatedUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(tracked.status());
+    }
+}
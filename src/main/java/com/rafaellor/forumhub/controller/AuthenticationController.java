@@ -4,6 +4,7 @@ import com.rafaellor.forumhub.dto.LoginDto;
 import com.rafaellor.forumhub.dto.JwtTokenDto;
 import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.service.TokenService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@Timed(value = "forumhub.controller", histogram = true)
 @RequestMapping("/login")
 public class AuthenticationController {
 
@@ -28,6 +30,7 @@ public class AuthenticationController {
     public ResponseEntity<JwtTokenDto> login(@RequestBody @Valid LoginDto loginDto) {
         var authenticationToken = new UsernamePasswordAuthenticationToken(loginDto.getUsername(), loginDto.getPassword());
 
+        // The user lookup and any hash upgrade stay on this thread; the encoder sends only the BCrypt match to the hashing pool
         var authentication = authenticationManager.authenticate(authenticationToken);
 
         var jwtToken = tokenService.generateToken((User) authentication.getPrincipal());
@@ -1,36 +1,62 @@
 package com.rafaellor.forumhub.controller;
 
 import com.rafaellor.forumhub.dto.AnswerResponseDto;
+import com.rafaellor.forumhub.dto.CursorPageDto;
+import com.rafaellor.forumhub.dto.KeysetCursor;
 import com.rafaellor.forumhub.dto.TopicCreateDto;
 import com.rafaellor.forumhub.dto.TopicResponseDto;
-import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.dto.TopicStatus;
+import com.rafaellor.forumhub.dto.TopicVersionDto;
 import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.OutboxEventType;
 import com.rafaellor.forumhub.model.Topic;
 import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.repository.AnswerRepository;
 import com.rafaellor.forumhub.repository.CourseRepository;
 import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.service.OutboxService;
+import com.rafaellor.forumhub.service.SearchIndexService;
+import com.rafaellor.forumhub.service.TopicActivityService;
+import com.rafaellor.forumhub.service.TopicCacheService;
+import com.rafaellor.forumhub.service.TopicEventBus;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.data.web.PageableDefault;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
+@Timed(value = "forumhub.controller", histogram = true)
 @RequestMapping("/topics")
 public class TopicController {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     @Autowired
     private TopicRepository topicRepository;
 
@@ -40,6 +66,21 @@ public class TopicController {
     @Autowired
     private AnswerRepository answerRepository;
 
+    @Autowired
+    private TopicCacheService topicCacheService;
+
+    @Autowired
+    private TopicActivityService topicActivityService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TopicEventBus topicEventBus;
+
+    @Autowired
+    private OutboxService outboxService;
+
     @PostMapping
     @Transactional
     public ResponseEntity<TopicResponseDto> createTopic(@RequestBody @Valid TopicCreateDto topicCreateDto,
@@ -48,11 +89,8 @@ public class TopicController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         User authenticatedUser = (User) authentication.getPrincipal();
 
-        if (topicRepository.existsByTitle(topicCreateDto.getTitle())) {
-            throw new DataIntegrityViolationException("Title already exists");
-        }
-        if (topicRepository.existsByMessage(topicCreateDto.getMessage())) {
-            throw new DataIntegrityViolationException("Message already exists");
+        if (topicRepository.existsByTitleOrMessageHash(topicCreateDto.getTitle(), Topic.hashMessage(topicCreateDto.getMessage()))) {
+            throw new DataIntegrityViolationException("Title or message already exists");
         }
 
         Course course = courseRepository.findById(topicCreateDto.getCourseId())
@@ -64,25 +102,71 @@ public class TopicController {
                 authenticatedUser, course
         );
         topic = topicRepository.save(topic);
+        TopicResponseDto response = new TopicResponseDto(topic);
+        outboxService.record(OutboxEventType.TOPIC_CREATED, topic.getId(), null, response);
 
         URI uri = uriComponentsBuilder.path("/topics/{id}").buildAndExpand(topic.getId()).toUri();
 
-        return ResponseEntity.created(uri).body(new TopicResponseDto(topic));
+        return ResponseEntity.created(uri).body(response);
     }
 
+    /**
+     * Lists topics, optionally narrowed to a course, a status ({@code open} or {@code closed}) and an author.
+     */
     @GetMapping
     public ResponseEntity<Page<TopicResponseDto>> getAllTopics(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long authorId,
             @PageableDefault(size = 10, sort = "creationDate", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<Topic> topicPage = topicRepository.findAll(pageable);
-        Page<TopicResponseDto> topicResponseDtoPage = topicPage.map(TopicResponseDto::new);
+        Page<TopicResponseDto> topicResponseDtoPage;
+        if (courseId == null && status == null && authorId == null) {
+            topicResponseDtoPage = topicRepository.findAllResponses(pageable);
+        } else {
+            Boolean statusValue = status == null ? null : TopicStatus.from(status).getValue();
+            topicResponseDtoPage = topicRepository.findResponsesFiltered(courseId, statusValue, authorId, pageable);
+        }
         return ResponseEntity.ok(topicResponseDtoPage);
     }
 
+    /**
+     * Full-text search over titles, messages and answers, ranked by relevance.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<TopicResponseDto>> searchTopics(@RequestParam String q,
+                                                              @PageableDefault(size = 10) Pageable pageable) throws IOException {
+        return ResponseEntity.ok(searchIndexService.search(q, pageable));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageDto<TopicResponseDto>> scrollTopics(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        int pageSize = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+        Pageable window = PageRequest.ofSize(pageSize + 1);
+
+        List<TopicResponseDto> rows;
+        if (cursor == null) {
+            rows = topicRepository.findNewestResponses(window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = topicRepository.findResponsesBefore(after.getCreationDate(), after.getId(), window);
+        }
+
+        return ResponseEntity.ok(CursorPageDto.of(rows, pageSize, topic -> new KeysetCursor(topic.getCreationDate(), topic.getId())));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<TopicResponseDto> getTopicById(@PathVariable Long id) {
-        return topicRepository.findById(id)
-                .map(topic -> ResponseEntity.ok(new TopicResponseDto(topic)))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<TopicResponseDto> getTopicById(@PathVariable Long id, WebRequest request) {
+        Optional<TopicResponseDto> topic = topicCacheService.get(id, topicRepository::findResponseById);
+        if (topic.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Sets ETag/Last-Modified on the response, and the 304 status when the client copy is current
+        if (request.checkNotModified(eTag(id, topic.get().getVersion()), toEpochMilli(topic.get().getLastModified()))) {
+            return null;
+        }
+        return ResponseEntity.ok(topic.get());
     }
 
     @PutMapping("/{id}")
@@ -91,19 +175,27 @@ public class TopicController {
                                                         @RequestBody @Valid TopicCreateDto topicUpdateDto) {
         return topicRepository.findById(id)
                 .map(topic -> {
-                    if (!topic.getTitle().equals(topicUpdateDto.getTitle()) && topicRepository.existsByTitle(topicUpdateDto.getTitle())) {
-                        throw new DataIntegrityViolationException("Title already exists");
-                    }
-                    if (!topic.getMessage().equals(topicUpdateDto.getMessage()) && topicRepository.existsByMessage(topicUpdateDto.getMessage())) {
-                        throw new DataIntegrityViolationException("Message already exists");
+                    if (topicRepository.existsOtherByTitleOrMessageHash(id, topicUpdateDto.getTitle(), Topic.hashMessage(topicUpdateDto.getMessage()))) {
+                        throw new DataIntegrityViolationException("Title or message already exists");
                     }
 
                     Course course = courseRepository.findById(topicUpdateDto.getCourseId())
                             .orElseThrow(() -> new EntityNotFoundException("Course not found with id: " + topicUpdateDto.getCourseId()));
 
                     topic.update(topicUpdateDto.getTitle(), topicUpdateDto.getMessage(), course);
+                    topicActivityService.touch(id);
 
-                    return ResponseEntity.ok(new TopicResponseDto(topic));
+                    // The bulk touch bypasses the managed entity, so the bumped version is read back for the body and ETag
+                    TopicResponseDto response = new TopicResponseDto(topic);
+                    topicRepository.findVersionById(id).ifPresent(version -> {
+                        response.setVersion(version.getVersion());
+                        response.setLastModified(version.getLastModified());
+                    });
+                    outboxService.record(OutboxEventType.TOPIC_UPDATED, id, null, response);
+                    return ResponseEntity.ok()
+                            .eTag(eTag(id, response.getVersion()))
+                            .lastModified(toEpochMilli(response.getLastModified()))
+                            .body(response);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -113,21 +205,80 @@ public class TopicController {
     public ResponseEntity<Void> deleteTopic(@PathVariable Long id) {
         if (topicRepository.existsById(id)) {
             topicRepository.deleteById(id);
+            topicCacheService.evict(id);
+            outboxService.record(OutboxEventType.TOPIC_DELETED, id, null, null);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
     }
     @GetMapping("/{topicId}/answers")
     public ResponseEntity<Page<AnswerResponseDto>> getAnswersForTopic(@PathVariable Long topicId,
-                                                                      @PageableDefault(size = 20, sort = "creationDate", direction = Sort.Direction.DESC) Pageable pageable) {
+                                                                      @PageableDefault(size = 20, sort = "creationDate", direction = Sort.Direction.DESC) Pageable pageable,
+                                                                      WebRequest request) {
+
+        // The topic version also changes with every answer change, so it is enough to validate the list
+        Optional<TopicVersionDto> version = topicRepository.findVersionById(topicId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(eTag(topicId, version.get().getVersion()), toEpochMilli(version.get().getLastModified()))) {
+            return null;
+        }
+
+        List<AnswerResponseDto> answers = answerRepository.findPageByTopicId(topicId, pageable);
 
+        return ResponseEntity.ok(PageableExecutionUtils.getPage(answers, pageable, () -> answerRepository.countByTopicId(topicId)));
+    }
+
+    /**
+     * Server-Sent Events stream of the topic's answers as they are created, edited or marked as the
+     * solution ({@code answer-created}, {@code answer-updated}, {@code answer-solution} events carrying
+     * the answer). A client that is dropped or times out reconnects and reloads the answer list.
+     */
+    @GetMapping(value = "/{topicId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTopicEvents(@PathVariable Long topicId) {
+        if (!topicRepository.existsById(topicId)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(topicEventBus.subscribe(topicId));
+        } catch (RejectedExecutionException e) {
+            // Without a body: the JSON error of the ErrorHandler cannot be written as text/event-stream
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    @GetMapping("/{topicId}/answers/scroll")
+    public ResponseEntity<CursorPageDto<AnswerResponseDto>> scrollAnswersForTopic(@PathVariable Long topicId,
+                                                                                  @RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+        Pageable window = PageRequest.ofSize(pageSize + 1);
+
+        // Checked on every page, so a topic deleted mid-scroll is a 404 rather than an empty page
         if (!topicRepository.existsById(topicId)) {
             return ResponseEntity.notFound().build();
         }
 
-        Page<Answer> answerPage = answerRepository.findByTopicId(topicId, pageable);
+        List<AnswerResponseDto> rows;
+        if (cursor == null) {
+            rows = answerRepository.findNewestByTopicId(topicId, window);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = answerRepository.findByTopicIdBefore(topicId, after.getCreationDate(), after.getId(), window);
+        }
+
+        return ResponseEntity.ok(CursorPageDto.of(rows, pageSize, answer -> new KeysetCursor(answer.getCreationDate(), answer.getId())));
+    }
+
+    private static String eTag(Long topicId, Long version) {
+        return topicId + "-" + version;
+    }
 
-        return ResponseEntity.ok(answerPage.map(AnswerResponseDto::new));
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
 }
@@ -5,12 +5,15 @@ import com.rafaellor.forumhub.model.Profile;
 import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.repository.ProfileRepository;
 import com.rafaellor.forumhub.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.Set;
 
 @RestController
+@Timed(value = "forumhub.controller", histogram = true)
 @RequestMapping("/register")
 public class UserController {
 
@@ -31,27 +35,41 @@ public class UserController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     @PostMapping
-    @Transactional
     public ResponseEntity<Void> registerUser(@RequestBody @Valid UserCreateDto createDto) {
-        if (userRepository.findByUsername(createDto.getUsername()) != null) {
-            throw new DataIntegrityViolationException("Username already exists.");
-        }
-        if (userRepository.findByEmail(createDto.getEmail()) != null) {
-            throw new DataIntegrityViolationException("Email already in use.");
-        }
-
-        User newUser = new User();
-        newUser.setName(createDto.getName());
-        newUser.setUsername(createDto.getUsername());
-        newUser.setEmail(createDto.getEmail());
-        newUser.setPassword(passwordEncoder.encode(createDto.getPassword()));
-
-        Profile defaultProfile = profileRepository.findByName("ROLE_USER")
-                .orElseThrow(() -> new RuntimeException("Error: Default profile ROLE_USER not found."));
-        newUser.setProfiles(Set.of(defaultProfile));
-
-        userRepository.save(newUser);
+        // Hashed (on the hashing pool) before the transaction opens, so no connection is held while BCrypt runs
+        String passwordHash = passwordEncoder.encode(createDto.getPassword());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.findByUsername(createDto.getUsername()) != null) {
+                throw new DataIntegrityViolationException("Username already exists.");
+            }
+            if (userRepository.findByEmail(createDto.getEmail()) != null) {
+                throw new DataIntegrityViolationException("Email already in use.");
+            }
+
+            User newUser = new User();
+            newUser.setName(createDto.getName());
+            newUser.setUsername(createDto.getUsername());
+            newUser.setEmail(createDto.getEmail());
+            newUser.setPassword(passwordHash);
+
+            Profile defaultProfile = profileRepository.findByName("ROLE_USER")
+                    .orElseThrow(() -> new RuntimeException("Error: Default profile ROLE_USER not found."));
+            newUser.setProfiles(Set.of(defaultProfile));
+
+            userRepository.save(newUser);
+        });
 
         return ResponseEntity.created(null).build(); // Return 201 Created with no body
     }
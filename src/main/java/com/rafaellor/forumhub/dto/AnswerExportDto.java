@@ -0,0 +1,19 @@
+package com.rafaellor.forumhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerExportDto {
+    private Long id;
+    private Long topicId;
+    private String message;
+    private LocalDateTime creationDate;
+    private String authorUsername;
+    private Boolean solution;
+}
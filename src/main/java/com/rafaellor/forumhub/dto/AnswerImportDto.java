@@ -0,0 +1,19 @@
+package com.rafaellor.forumhub.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AnswerImportDto {
+    @NotBlank(message = "Message cannot be blank")
+    private String message;
+
+    @NotBlank(message = "Author username cannot be blank")
+    private String authorUsername;
+
+    private LocalDateTime creationDate;
+
+    private boolean solution;
+}
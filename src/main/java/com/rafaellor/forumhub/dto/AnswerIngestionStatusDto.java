@@ -0,0 +1,36 @@
+package com.rafaellor.forumhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerIngestionStatusDto {
+
+    public enum Status {
+        QUEUED,
+        CREATED,
+        REJECTED
+    }
+
+    private UUID trackingId;
+    private Status status;
+    private Long answerId;
+    private String error;
+
+    public static AnswerIngestionStatusDto queued(UUID trackingId) {
+        return new AnswerIngestionStatusDto(trackingId, Status.QUEUED, null, null);
+    }
+
+    public static AnswerIngestionStatusDto created(UUID trackingId, Long answerId) {
+        return new AnswerIngestionStatusDto(trackingId, Status.CREATED, answerId, null);
+    }
+
+    public static AnswerIngestionStatusDto rejected(UUID trackingId, String error) {
+        return new AnswerIngestionStatusDto(trackingId, Status.REJECTED, null, error);
+    }
+}
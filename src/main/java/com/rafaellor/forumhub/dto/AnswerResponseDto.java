@@ -1,6 +1,7 @@
 package com.rafaellor.forumhub.dto;
 
 import com.rafaellor.forumhub.model.Answer;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 public class AnswerResponseDto {
 
     private Long id;
@@ -0,0 +1,28 @@
+package com.rafaellor.forumhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> content;
+    private String nextCursor; // null when there are no more rows
+
+    /**
+     * Builds a page from a window fetched with {@code size + 1} rows: the extra row only signals
+     * that another page exists and is dropped from the content.
+     */
+    public static <T> CursorPageDto<T> of(List<T> window, int size, Function<T, KeysetCursor> cursorOf) {
+        if (window.size() <= size) {
+            return new CursorPageDto<>(window, null);
+        }
+        List<T> content = window.subList(0, size);
+        return new CursorPageDto<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+}
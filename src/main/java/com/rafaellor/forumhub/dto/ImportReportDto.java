@@ -0,0 +1,37 @@
+package com.rafaellor.forumhub.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReportDto {
+
+    // Only the first errors are kept so a bad file cannot blow up the response
+    public static final int MAX_ERRORS = 100;
+
+    private long linesRead;
+    private long topicsImported;
+    private long answersImported;
+    private long duplicatesSkipped;
+    private long invalidLines;
+    private long failedLines;
+    private List<String> errors = new ArrayList<>();
+
+    public void addError(long lineNumber, String error) {
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("line " + lineNumber + ": " + error);
+        }
+    }
+
+    // Adds the counters and errors of a committed chunk; linesRead is tracked by the caller
+    public void merge(ImportReportDto chunk) {
+        topicsImported += chunk.topicsImported;
+        answersImported += chunk.answersImported;
+        duplicatesSkipped += chunk.duplicatesSkipped;
+        invalidLines += chunk.invalidLines;
+        failedLines += chunk.failedLines;
+        chunk.errors.stream().limit(MAX_ERRORS - errors.size()).forEach(errors::add);
+    }
+}
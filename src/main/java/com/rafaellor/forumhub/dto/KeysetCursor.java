@@ -0,0 +1,41 @@
+package com.rafaellor.forumhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset-paginated listing, ordered by
+ * {@code (creationDate, id)} descending. Travels to clients as an opaque URL-safe string.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private LocalDateTime creationDate;
+    private Long id;
+
+    public String encode() {
+        String raw = creationDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rafaellor.forumhub.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One NDJSON line of {@code POST /admin/import}: a legacy topic together with its answers.
+ */
+@Data
+public class TopicImportDto {
+    @NotBlank(message = "Title cannot be blank")
+    @Size(min = 5, max = 100, message = "Title must be between 5 and 100 characters")
+    private String title;
+
+    @NotBlank(message = "Message cannot be blank")
+    @Size(min = 10, max = 500, message = "Message must be between 10 and 500 characters")
+    private String message;
+
+    @NotNull(message = "Course ID cannot be null")
+    private Long courseId;
+
+    @NotBlank(message = "Author username cannot be blank")
+    private String authorUsername;
+
+    // Optional; defaults to the import time
+    private LocalDateTime creationDate;
+
+    @Valid
+    private List<AnswerImportDto> answers = new ArrayList<>();
+}
@@ -1,5 +1,6 @@
 package com.rafaellor.forumhub.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.rafaellor.forumhub.model.Topic;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,6 +18,15 @@ public class TopicResponseDto {
     private Boolean status;
     private String authorUsername;
     private String courseName;
+    private Integer answerCount;
+    private LocalDateTime lastAnswerAt;
+    private Long solvedAnswerId;
+
+    // Sent as ETag / Last-Modified headers rather than in the body
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private LocalDateTime lastModified;
 
     public TopicResponseDto(Topic topic) {
         this.id = topic.getId();
@@ -26,5 +36,10 @@ public class TopicResponseDto {
         this.status = topic.getStatus();
         this.authorUsername = topic.getAuthor() != null ? topic.getAuthor().getUsername() : null;
         this.courseName = topic.getCourse() != null ? topic.getCourse().getName() : null;
+        this.answerCount = topic.getAnswerCount();
+        this.lastAnswerAt = topic.getLastAnswerAt();
+        this.solvedAnswerId = topic.getSolvedAnswerId();
+        this.version = topic.getVersion();
+        this.lastModified = topic.getLastModified();
     }
 }
@@ -0,0 +1,27 @@
+package com.rafaellor.forumhub.dto;
+
+import java.util.Locale;
+
+// Value of the status filter on GET /topics; maps to the boolean topics.status column
+public enum TopicStatus {
+    OPEN(true),
+    CLOSED(false);
+
+    private final boolean value;
+
+    TopicStatus(boolean value) {
+        this.value = value;
+    }
+
+    public boolean getValue() {
+        return value;
+    }
+
+    public static TopicStatus from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported topic status: " + value);
+        }
+    }
+}
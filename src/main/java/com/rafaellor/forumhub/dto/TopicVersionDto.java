@@ -0,0 +1,15 @@
+package com.rafaellor.forumhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicVersionDto {
+    private Long version;
+    private LocalDateTime lastModified;
+}
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class Answer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "answers_id")
+    @TableGenerator(name = "answers_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "answers", allocationSize = 50)
     private Long id;
 
     private String message;
@@ -13,7 +13,9 @@ import lombok.NoArgsConstructor;
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "courses_id")
+    @TableGenerator(name = "courses_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "courses", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -0,0 +1,69 @@
+package com.rafaellor.forumhub.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A forum change recorded in the same transaction as the change itself and delivered to the
+ * {@code OutboxHandler}s by {@code OutboxRelay}. Rows are deleted once delivered.
+ */
+@Entity
+@Table(name = "outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // Blocks of ids per instance, so the relay order (by id) is only roughly the insert order
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_id")
+    @TableGenerator(name = "outbox_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "outbox", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "answer_id")
+    private Long answerId;
+
+    // JSON snapshot of the topic or answer after the change; null for deletions
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    public OutboxEvent(OutboxEventType eventType, Long topicId, Long answerId, String payload) {
+        this.eventType = eventType;
+        this.topicId = topicId;
+        this.answerId = answerId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public void failed(Exception error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.nextAttemptAt = retryAt;
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        this.lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,11 @@
+package com.rafaellor.forumhub.model;
+
+public enum OutboxEventType {
+    TOPIC_CREATED,
+    TOPIC_UPDATED,
+    TOPIC_DELETED,
+    ANSWER_CREATED,
+    ANSWER_UPDATED,
+    ANSWER_DELETED,
+    ANSWER_SOLUTION_MARKED
+}
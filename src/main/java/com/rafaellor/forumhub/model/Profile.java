@@ -1,11 +1,13 @@
 package com.rafaellor.forumhub.model;
 
+import com.rafaellor.forumhub.service.PrincipalCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Table(name = "profiles")
 @Data
 @NoArgsConstructor
@@ -13,7 +15,9 @@ import lombok.NoArgsConstructor;
 public class Profile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "profiles_id")
+    @TableGenerator(name = "profiles_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "profiles", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
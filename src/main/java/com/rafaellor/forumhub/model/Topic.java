@@ -1,29 +1,57 @@
 package com.rafaellor.forumhub.model;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
 @Table(name = "topics")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Topic {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "topics_id")
+    @TableGenerator(name = "topics_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "topics", allocationSize = 50)
     private Long id;
 
     private String title;
     private String message;
+
+    // SHA-256 of the normalized message, backed by a narrow unique index instead of the message itself
+    @Column(name = "message_hash", nullable = false, length = 64)
+    private String messageHash;
+
     private LocalDateTime creationDate;
     private Boolean status;
 
+    // Only ever changed by TopicRepository.touch, never by dirty checking
+    @Column(updatable = false)
+    private Long version = 0L;
+
+    @Column(name = "last_modified", updatable = false)
+    private LocalDateTime lastModified;
+
+    // Maintained by atomic UPDATEs in TopicRepository, so a stale entity can never overwrite a concurrent change
+    @Column(name = "answer_count", updatable = false)
+    private Integer answerCount = 0;
+
+    @Column(name = "last_answer_at", updatable = false)
+    private LocalDateTime lastAnswerAt;
+
+    @Column(name = "solved_answer_id", updatable = false)
+    private Long solvedAnswerId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -36,21 +64,40 @@ public class Topic {
     private List<Answer> answers = new ArrayList<>();
 
 
+    public Topic(Long id, String title, String message, LocalDateTime creationDate, Boolean status,
+                 User author, Course course, List<Answer> answers) {
+        this.id = id;
+        this.title = title;
+        setMessage(message);
+        this.creationDate = creationDate;
+        this.lastModified = creationDate;
+        this.status = status;
+        this.author = author;
+        this.course = course;
+        this.answers = answers;
+    }
+
     public Topic(String title, String message, User author, Course course) {
         this.title = title;
-        this.message = message;
+        setMessage(message);
         this.creationDate = LocalDateTime.now();
+        this.lastModified = this.creationDate;
         this.status = true;
         this.author = author;
         this.course = course;
     }
 
+    public void setMessage(String message) {
+        this.message = message;
+        this.messageHash = message != null ? hashMessage(message) : null;
+    }
+
     public void update(String title, String message, Course course) {
         if (title != null && !title.isBlank()) {
             this.title = title;
         }
         if (message != null && !message.isBlank()) {
-            this.message = message;
+            setMessage(message);
         }
         if (course != null) {
             this.course = course;
@@ -60,4 +107,18 @@ public class Topic {
     public void close() {
         this.status = false;
     }
+
+    /**
+     * Hex SHA-256 of the message after trimming, collapsing whitespace and lower-casing, so messages
+     * that only differ in case or spacing count as duplicates (as the old case-insensitive UNIQUE did on MySQL).
+     */
+    public static String hashMessage(String message) {
+        String normalized = message.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
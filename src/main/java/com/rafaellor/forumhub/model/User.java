@@ -1,7 +1,7 @@
 package com.rafaellor.forumhub.model;
 
+import com.rafaellor.forumhub.service.PrincipalCacheInvalidationListener;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,14 +13,16 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Table(name = "users")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "users", allocationSize = 50)
     private Long id;
 
 
@@ -42,6 +44,27 @@ public class User implements UserDetails {
     )
     private Set<Profile> profiles;
 
+    // Also bumped when only the profiles change, so the entity listeners see that as an update of the user
+    @Version
+    private Long version;
+
+    public User(Long id, String name, String email, String username, String password, Set<Profile> profiles) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.username = username;
+        this.password = password;
+        this.profiles = profiles;
+    }
+
+    /**
+     * Compares by id only, so it works against the lightweight principal built from a stateless token
+     * and does not initialize a lazy {@code other} proxy.
+     */
+    public boolean isSameUserAs(User other) {
+        return other != null && id != null && id.equals(other.getId());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if (profiles == null) {
@@ -1,10 +1,84 @@
 package com.rafaellor.forumhub.repository;
 
+import com.rafaellor.forumhub.dto.AnswerExportDto;
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
 import com.rafaellor.forumhub.model.Answer;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
-    Page<Answer> findByTopicId(Long topicId, Pageable pageable);
+
+    // A page of a topic's answers as DTOs; callers check that the topic exists first
+    @Query("""
+            select new com.rafaellor.forumhub.dto.AnswerResponseDto(
+                a.id, a.message, a.creationDate, u.username, a.solution)
+            from Answer a join a.author u
+            where a.topic.id = :topicId
+            """)
+    List<AnswerResponseDto> findPageByTopicId(@Param("topicId") Long topicId, Pageable pageable);
+
+    long countByTopicId(Long topicId);
+
+    // Keyset pagination for a topic's answers, seeking on (creation_date, id)
+    @Query("""
+            select new com.rafaellor.forumhub.dto.AnswerResponseDto(
+                a.id, a.message, a.creationDate, u.username, a.solution)
+            from Answer a join a.author u
+            where a.topic.id = :topicId
+            order by a.creationDate desc, a.id desc
+            """)
+    List<AnswerResponseDto> findNewestByTopicId(@Param("topicId") Long topicId, Pageable window);
+
+    @Query("""
+            select new com.rafaellor.forumhub.dto.AnswerResponseDto(
+                a.id, a.message, a.creationDate, u.username, a.solution)
+            from Answer a join a.author u
+            where a.topic.id = :topicId
+              and (a.creationDate < :creationDate
+                   or (a.creationDate = :creationDate and a.id < :id))
+            order by a.creationDate desc, a.id desc
+            """)
+    List<AnswerResponseDto> findByTopicIdBefore(@Param("topicId") Long topicId,
+                                                @Param("creationDate") LocalDateTime creationDate,
+                                                @Param("id") Long id,
+                                                Pageable window);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.rafaellor.forumhub.dto.AnswerExportDto(
+                a.id, a.topic.id, a.message, a.creationDate, u.username, a.solution)
+            from Answer a join a.author u
+            order by a.id
+            """)
+    Stream<AnswerExportDto> streamAllForExport();
+
+    // Answer text for the search index, grouped by topic
+
+    @Query("select a.topic.id as topicId, a.message as message from Answer a where a.topic.id in :topicIds")
+    List<TopicAnswerText> findTextByTopicIds(@Param("topicIds") Collection<Long> topicIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a.topic.id as topicId, a.message as message from Answer a order by a.topic.id")
+    Stream<TopicAnswerText> streamAllTextOrderByTopic();
+
+    interface TopicAnswerText {
+        Long getTopicId();
+        String getMessage();
+    }
 }
@@ -0,0 +1,32 @@
+package com.rafaellor.forumhub.repository;
+
+import com.rafaellor.forumhub.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED (lock timeout -2): rows claimed by another relay are skipped, not waited for
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+            select e from OutboxEvent e
+            where e.nextAttemptAt <= :now and e.attempts < :maxAttempts
+            order by e.id
+            """)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now,
+                                    @Param("maxAttempts") int maxAttempts,
+                                    Pageable batch);
+}
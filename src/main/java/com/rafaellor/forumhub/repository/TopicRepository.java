@@ -1,11 +1,154 @@
 package com.rafaellor.forumhub.repository;
 
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.dto.TopicVersionDto;
 import com.rafaellor.forumhub.model.Topic;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TopicRepository extends JpaRepository<Topic, Long> {
+public interface TopicRepository extends JpaRepository<Topic, Long>, TopicRepositoryCustom {
+
+    // Projects author and course columns in the same select, so listing topics never lazy-loads per row
+    String RESPONSE_COLUMNS = """
+            select new com.rafaellor.forumhub.dto.TopicResponseDto(
+                t.id, t.title, t.message, t.creationDate, t.status, a.username, c.name,
+                t.answerCount, t.lastAnswerAt, t.solvedAnswerId,
+                t.version, t.lastModified)
+            """;
+
+    String SELECT_RESPONSE = RESPONSE_COLUMNS + """
+            from Topic t join t.author a join t.course c
+            """;
+
     boolean existsByTitle(String title);
-    boolean existsByMessage(String message);
+    boolean existsByTitleOrMessageHash(String title, String messageHash);
+
+    // Batched forms of the duplicate checks, used by the bulk import
+    @Query("select t.title from Topic t where t.title in :titles")
+    List<String> findExistingTitles(@Param("titles") Collection<String> titles);
+
+    @Query("select t.messageHash from Topic t where t.messageHash in :messageHashes")
+    List<String> findExistingMessageHashes(@Param("messageHashes") Collection<String> messageHashes);
+
+    @Query("select t.id from Topic t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select case when count(t) > 0 then true else false end
+            from Topic t
+            where t.id <> :id and (t.title = :title or t.messageHash = :messageHash)
+            """)
+    boolean existsOtherByTitleOrMessageHash(@Param("id") Long id,
+                                            @Param("title") String title,
+                                            @Param("messageHash") String messageHash);
+
+    // A page costs one query plus the count
+    @Query(value = SELECT_RESPONSE, countQuery = "select count(t) from Topic t")
+    Page<TopicResponseDto> findAllResponses(Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "where t.id = :id")
+    Optional<TopicResponseDto> findResponseById(@Param("id") Long id);
+
+    // Search hits and index updates load their topics in one query
+    @Query(SELECT_RESPONSE + "where t.id in :ids")
+    List<TopicResponseDto> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    // Export cursor: rows are fetched from the driver in blocks and never enter the persistence context
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE + "order by t.id")
+    Stream<TopicResponseDto> streamAllResponses();
+
+    // Keyset pagination: seeks on (creation_date, id) instead of counting and skipping rows
+    @Query(SELECT_RESPONSE + "order by t.creationDate desc, t.id desc")
+    List<TopicResponseDto> findNewestResponses(Pageable window);
+
+    @Query(SELECT_RESPONSE + """
+            where t.creationDate < :creationDate
+               or (t.creationDate = :creationDate and t.id < :id)
+            order by t.creationDate desc, t.id desc
+            """)
+    List<TopicResponseDto> findResponsesBefore(@Param("creationDate") LocalDateTime creationDate,
+                                               @Param("id") Long id,
+                                               Pageable window);
+
+    @Query("select new com.rafaellor.forumhub.dto.TopicVersionDto(t.version, t.lastModified) from Topic t where t.id = :id")
+    Optional<TopicVersionDto> findVersionById(@Param("id") Long id);
+
+    // Atomic increment, so concurrent answers on the same topic never produce the same version twice
+    @Modifying
+    @Transactional
+    @Query("update Topic t set t.version = t.version + 1, t.lastModified = :now where t.id = :id")
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Answer statistics: single atomic UPDATEs that also bump the version, so they never race each other
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("""
+            update Topic t
+            set t.answerCount = t.answerCount + :count,
+                t.lastAnswerAt = case when t.lastAnswerAt is null or t.lastAnswerAt < :answeredAt
+                                      then :answeredAt else t.lastAnswerAt end,
+                t.version = t.version + 1,
+                t.lastModified = :now
+            where t.id = :id
+            """)
+    int addAnswers(@Param("id") Long id,
+                   @Param("count") int count,
+                   @Param("answeredAt") LocalDateTime answeredAt,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("""
+            update Topic t
+            set t.answerCount = t.answerCount - 1,
+                t.lastAnswerAt = (select max(a.creationDate) from Answer a
+                                  where a.topic.id = :id and a.id <> :answerId),
+                t.solvedAnswerId = case when t.solvedAnswerId = :answerId then null else t.solvedAnswerId end,
+                t.version = t.version + 1,
+                t.lastModified = :now
+            where t.id = :id
+            """)
+    int removeAnswer(@Param("id") Long id, @Param("answerId") Long answerId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("""
+            update Topic t
+            set t.solvedAnswerId = :answerId,
+                t.version = t.version + 1,
+                t.lastModified = :now
+            where t.id = :id
+            """)
+    int markSolved(@Param("id") Long id, @Param("answerId") Long answerId, @Param("now") LocalDateTime now);
+
+    // Used after a bulk import, where answer ids are only known once the chunk is flushed
+    @Modifying
+    @Transactional
+    @Query("""
+            update Topic t
+            set t.solvedAnswerId = (select max(a.id) from Answer a where a.topic = t and a.solution = true)
+            where t.id in :ids
+            """)
+    int refreshSolvedAnswers(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,15 @@
+package com.rafaellor.forumhub.repository;
+
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TopicRepositoryCustom {
+
+    /**
+     * Lists topics matching every filter that is set. Unset (null) filters are left out of the SQL
+     * instead of being compared at runtime, so each combination can use its (filter column,
+     * creation_date, id) index.
+     */
+    Page<TopicResponseDto> findResponsesFiltered(Long courseId, Boolean status, Long authorId, Pageable pageable);
+}
@@ -0,0 +1,62 @@
+package com.rafaellor.forumhub.repository;
+
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+class TopicRepositoryCustomImpl implements TopicRepositoryCustom {
+
+    // Filters compare the topics foreign key columns, so the plan starts from the (filter column, creation_date, id)
+    // index instead of the courses or users primary key. fk() fails on an association that is also joined by path,
+    // hence the entity joins.
+    private static final String SELECT_FILTERED = TopicRepository.RESPONSE_COLUMNS + """
+            from Topic t join User a on a.id = fk(t.author) join Course c on c.id = fk(t.course)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TopicResponseDto> findResponsesFiltered(Long courseId, Boolean status, Long authorId, Pageable pageable) {
+        StringJoiner where = new StringJoiner(" and ", "where ", " ").setEmptyValue("");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (courseId != null) {
+            where.add("fk(t.course) = :courseId");
+            parameters.put("courseId", courseId);
+        }
+        if (status != null) {
+            where.add("t.status = :status");
+            parameters.put("status", status);
+        }
+        if (authorId != null) {
+            where.add("fk(t.author) = :authorId");
+            parameters.put("authorId", authorId);
+        }
+
+        TypedQuery<TopicResponseDto> query = entityManager.createQuery(
+                QueryUtils.applySorting(SELECT_FILTERED + where, pageable.getSort(), "t"),
+                TopicResponseDto.class);
+        TypedQuery<Long> countQuery = entityManager.createQuery("select count(t) from Topic t " + where, Long.class);
+        parameters.forEach((name, value) -> {
+            query.setParameter(name, value);
+            countQuery.setParameter(name, value);
+        });
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        List<TopicResponseDto> content = query.getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::getSingleResult);
+    }
+}
@@ -4,8 +4,19 @@ import com.rafaellor.forumhub.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     User findByUsername(String username);
     User findByEmail(String email);
+
+    // Id only, without loading the eager profiles of every user
+    List<UsernameAndId> findByUsernameIn(Collection<String> usernames);
+
+    interface UsernameAndId {
+        String getUsername();
+        Long getId();
+    }
 }
@@ -0,0 +1,279 @@
+package com.rafaellor.forumhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rafaellor.forumhub.dto.AnswerIngestionStatusDto;
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.OutboxEventType;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind path for answers during bursts. Requests only enqueue into a bounded queue; a single
+ * writer thread collects whatever arrives within {@code flush-interval} (up to {@code max-batch-size})
+ * and stores it in one transaction: the answers as JDBC batches, one answer-statistics UPDATE per
+ * topic instead of one per answer, and the outbox rows. If the batch fails, each answer is retried in
+ * its own transaction so only the offending one is rejected. Results are kept for {@code status-ttl}
+ * under the tracking id returned to the client.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "api.answers.ingestion.enabled", havingValue = "true")
+public class AnswerIngestionService {
+
+    @Value("${api.answers.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${api.answers.ingestion.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${api.answers.ingestion.flush-interval:50ms}")
+    private Duration flushInterval;
+
+    @Value("${api.answers.ingestion.status-ttl:10m}")
+    private Duration statusTtl;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private TopicActivityService topicActivityService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TopicEventBus topicEventBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingAnswer> queue;
+    private Cache<UUID, TrackedStatus> statuses;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSizes;
+    private Timer flushTimer;
+    private Counter rejected;
+
+    /**
+     * Status of a submitted answer together with the id of the user who submitted it, who is the only one
+     * allowed to read it.
+     */
+    public record TrackedStatus(Long authorId, AnswerIngestionStatusDto status) {
+
+        public boolean isSubmittedBy(User user) {
+            return user != null && authorId.equals(user.getId());
+        }
+    }
+
+    private record PendingAnswer(UUID trackingId, Long topicId, Long authorId, String authorUsername,
+                                 String message, LocalDateTime creationDate) {
+    }
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        statuses = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(statusTtl)
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("forumhub.answers.ingestion.queue", queue, BlockingQueue::size)
+                .description("Answers waiting for the ingestion writer")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("forumhub.answers.ingestion.batch.size")
+                .description("Answers written per ingestion flush")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        flushTimer = Timer.builder("forumhub.answers.ingestion.flush")
+                .description("Time to write one ingestion batch")
+                .register(meterRegistry);
+        rejected = Counter.builder("forumhub.answers.ingestion.rejected")
+                .description("Answers refused because the ingestion queue was full")
+                .register(meterRegistry);
+
+        writer = Thread.ofPlatform().name("answer-ingestion").daemon().start(this::run);
+    }
+
+    // Stops taking new work and writes what is already queued before the context closes
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queues an answer for the writer and returns its {@code QUEUED} status.
+     *
+     * @throws RejectedExecutionException when the queue is full
+     */
+    public AnswerIngestionStatusDto submit(Long topicId, User author, String message) {
+        if (!running) {
+            throw new RejectedExecutionException("Answer ingestion is shutting down");
+        }
+        PendingAnswer answer = new PendingAnswer(UUID.randomUUID(), topicId, author.getId(), author.getUsername(),
+                message, LocalDateTime.now());
+        statuses.put(answer.trackingId(), new TrackedStatus(author.getId(), AnswerIngestionStatusDto.queued(answer.trackingId())));
+        if (!queue.offer(answer)) {
+            statuses.invalidate(answer.trackingId());
+            rejected.increment();
+            throw new RejectedExecutionException("Answer ingestion queue is full");
+        }
+        // The writer may have drained the queue and exited between the check above and the offer
+        if (!running && queue.remove(answer)) {
+            statuses.invalidate(answer.trackingId());
+            throw new RejectedExecutionException("Answer ingestion is shutting down");
+        }
+        return AnswerIngestionStatusDto.queued(answer.trackingId());
+    }
+
+    public Optional<TrackedStatus> getStatus(UUID trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    private void run() {
+        List<PendingAnswer> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAnswer first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Shutdown: whatever was collected is still written, then the queue is drained
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Waits up to flush-interval after the first answer for more to arrive, or until the batch is full
+    private void collect(List<PendingAnswer> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingAnswer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingAnswer> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Map<UUID, TrackedStatus> results = transactionTemplate.execute(status -> persist(batch));
+            statuses.putAll(results);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                reject(batch.getFirst(), e);
+            } else {
+                log.warn("Could not write a batch of {} ingested answers, retrying them one by one", batch.size(), e);
+                batch.forEach(this::flushAlone);
+            }
+        } finally {
+            sample.stop(flushTimer);
+            batchSizes.record(batch.size());
+        }
+    }
+
+    // Retry after a failed batch, so only the answer that breaks it ends up rejected
+    private void flushAlone(PendingAnswer answer) {
+        try {
+            statuses.putAll(transactionTemplate.execute(status -> persist(List.of(answer))));
+        } catch (RuntimeException e) {
+            reject(answer, e);
+        }
+    }
+
+    private void reject(PendingAnswer answer, RuntimeException e) {
+        log.error("Could not write ingested answer {}", answer.trackingId(), e);
+        statuses.put(answer.trackingId(), new TrackedStatus(answer.authorId(),
+                AnswerIngestionStatusDto.rejected(answer.trackingId(), "Could not be saved, please retry")));
+    }
+
+    private Map<UUID, TrackedStatus> persist(List<PendingAnswer> batch) {
+        Map<UUID, TrackedStatus> results = new HashMap<>();
+        Set<Long> topicIds = batch.stream().map(PendingAnswer::topicId).collect(Collectors.toSet());
+        Set<Long> existingTopicIds = new HashSet<>(topicRepository.findExistingIds(topicIds));
+
+        Map<Long, List<AnswerResponseDto>> createdByTopic = new HashMap<>();
+        for (PendingAnswer pending : batch) {
+            if (!existingTopicIds.contains(pending.topicId())) {
+                results.put(pending.trackingId(), new TrackedStatus(pending.authorId(),
+                        AnswerIngestionStatusDto.rejected(pending.trackingId(), "Topic not found with id: " + pending.topicId())));
+                continue;
+            }
+            Answer answer = new Answer(null, pending.message(),
+                    entityManager.getReference(Topic.class, pending.topicId()), pending.creationDate(),
+                    entityManager.getReference(User.class, pending.authorId()), false);
+            entityManager.persist(answer);
+            results.put(pending.trackingId(), new TrackedStatus(pending.authorId(),
+                    AnswerIngestionStatusDto.created(pending.trackingId(), answer.getId())));
+            createdByTopic.computeIfAbsent(pending.topicId(), id -> new ArrayList<>())
+                    .add(new AnswerResponseDto(answer.getId(), pending.message(), pending.creationDate(),
+                            pending.authorUsername(), false));
+        }
+
+        createdByTopic.forEach((topicId, answers) -> {
+            LocalDateTime lastAnsweredAt = answers.stream()
+                    .map(AnswerResponseDto::getCreationDate)
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+            topicActivityService.answersAdded(topicId, answers.size(), lastAnsweredAt);
+            for (AnswerResponseDto answer : answers) {
+                outboxService.record(OutboxEventType.ANSWER_CREATED, topicId, answer.getId(), answer);
+                topicEventBus.publish(topicId, "answer-created", answer.getId(), answer);
+            }
+        });
+        return results;
+    }
+}
@@ -1,14 +1,17 @@
 package com.rafaellor.forumhub.service;
 
+import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class AuthenticationService implements UserDetailsService {
+public class AuthenticationService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -17,4 +20,19 @@ public class AuthenticationService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username);
     }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored hash is outdated
+     * (no {@code {bcrypt}} prefix or a lower strength than the current encoder).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = userRepository.findByUsername(user.getUsername());
+        if (stored == null) {
+            return user;
+        }
+        stored.setPassword(newPassword);
+        return userRepository.save(stored);
+    }
 }
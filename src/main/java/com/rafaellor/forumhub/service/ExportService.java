@@ -0,0 +1,127 @@
+package com.rafaellor.forumhub.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rafaellor.forumhub.config.CursorFetch;
+import com.rafaellor.forumhub.dto.AnswerExportDto;
+import com.rafaellor.forumhub.dto.ExportFormat;
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.repository.AnswerRepository;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes every topic or answer to an output stream as NDJSON or CSV. Rows come from a database
+ * cursor as DTO projections and are written as they arrive, so memory use does not depend on the
+ * table size. The transaction (and cursor) stays open until the last row is written, on a connection
+ * from the cursor-fetch pool.
+ */
+@Service
+public class ExportService {
+
+    private static final String TOPIC_HEADER = "id,title,message,creation_date,status,author,course,answer_count,last_answer_at,solved_answer_id";
+    private static final String ANSWER_HEADER = "id,topic_id,message,creation_date,author,solution";
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectWriter rowWriter;
+
+    @PostConstruct
+    void init() {
+        // Let the output buffer decide when to flush instead of flushing after every row. Rows are
+        // separated by the newline written after each one, not by Jackson's default space between root values
+        rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+    }
+
+    @CursorFetch
+    @Transactional(readOnly = true)
+    public long exportTopics(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<TopicResponseDto> rows = topicRepository.streamAllResponses()) {
+            return write(out, format, rows.iterator(), TOPIC_HEADER, topic -> new Object[]{
+                    topic.getId(), topic.getTitle(), topic.getMessage(), topic.getCreationDate(),
+                    topic.getStatus(), topic.getAuthorUsername(), topic.getCourseName(),
+                    topic.getAnswerCount(), topic.getLastAnswerAt(), topic.getSolvedAnswerId()});
+        }
+    }
+
+    @CursorFetch
+    @Transactional(readOnly = true)
+    public long exportAnswers(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<AnswerExportDto> rows = answerRepository.streamAllForExport()) {
+            return write(out, format, rows.iterator(), ANSWER_HEADER, answer -> new Object[]{
+                    answer.getId(), answer.getTopicId(), answer.getMessage(), answer.getCreationDate(),
+                    answer.getAuthorUsername(), answer.getSolution()});
+        }
+    }
+
+    private <T> long write(OutputStream out, ExportFormat format, Iterator<T> rows,
+                           String csvHeader, Function<T, Object[]> csvColumns) throws IOException {
+        long count = 0;
+        if (format == ExportFormat.NDJSON) {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+            generator.close();
+        } else {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(csvHeader);
+            writer.write('\n');
+            while (rows.hasNext()) {
+                writeCsvLine(writer, csvColumns.apply(rows.next()));
+                count++;
+            }
+            writer.flush();
+        }
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks, doubling inner quotes
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,21 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.model.OutboxEvent;
+
+/**
+ * In-process consumer of outbox events; every handler bean receives every event. Delivery is at
+ * least once: when any handler throws, the event is retried later for all handlers, so handlers must
+ * be idempotent.
+ */
+public interface OutboxHandler {
+
+    void handle(OutboxEvent event) throws Exception;
+
+    /**
+     * Called once every event of a batch has been handled, before the relay deletes their rows. A handler
+     * that only collects events in {@code handle} must make them durable here; if this throws, every event
+     * of the batch counts a failed attempt and is delivered again after the retry backoff.
+     */
+    default void commitBatch() throws Exception {
+    }
+}
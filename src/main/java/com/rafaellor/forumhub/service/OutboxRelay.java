@@ -0,0 +1,151 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.model.OutboxEvent;
+import com.rafaellor.forumhub.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox in batches and hands each event to every {@link OutboxHandler}. A batch is claimed
+ * with {@code FOR UPDATE SKIP LOCKED}, so several instances can relay in parallel without taking the
+ * same rows, and delivered rows are deleted in the same transaction, after every handler has committed
+ * the batch ({@link OutboxHandler#commitBatch()}). If that transaction does not commit, the rows are
+ * delivered again (at least once). A failing event, or every event of a batch a handler could not
+ * commit, is retried with a linear backoff and left in the table after {@code api.outbox.max-attempts}.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    @Value("${api.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${api.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${api.outbox.retry-backoff:5s}")
+    private Duration retryBackoff;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private List<OutboxHandler> handlers;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter delivered;
+    private Counter failed;
+    private Timer lag;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        delivered = Counter.builder("forumhub.outbox.delivered")
+                .description("Outbox events delivered to every handler")
+                .register(meterRegistry);
+        failed = Counter.builder("forumhub.outbox.failed")
+                .description("Outbox deliveries that threw and were rescheduled")
+                .register(meterRegistry);
+        lag = Timer.builder("forumhub.outbox.lag")
+                .description("Time from the change being recorded to its delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox has no more due events.
+     *
+     * @return the number of events delivered
+     */
+    @Scheduled(fixedDelayString = "${api.outbox.poll-interval:500ms}")
+    public int relay() {
+        int total = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            total += batch.delivered();
+        } while (batch.claimed() == batchSize);
+        return total;
+    }
+
+    private record Batch(int claimed, int delivered) {
+    }
+
+    private Batch relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxRepository.lockNextBatch(now, maxAttempts, PageRequest.ofSize(batchSize));
+        List<OutboxEvent> processed = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                for (OutboxHandler handler : handlers) {
+                    handler.handle(event);
+                }
+                processed.add(event);
+                lag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception e) {
+                reschedule(event, e, now);
+            }
+        }
+        if (!processed.isEmpty()) {
+            Exception commitFailure = commitBatch();
+            if (commitFailure != null) {
+                // Counted against every event of the batch, so a handler that keeps failing parks the batch
+                // after max-attempts instead of blocking the events behind it
+                processed.forEach(event -> reschedule(event, commitFailure, now));
+                return new Batch(events.size(), 0);
+            }
+            outboxRepository.deleteAllInBatch(processed);
+            delivered.increment(processed.size());
+        }
+        return new Batch(events.size(), processed.size());
+    }
+
+    // Every handler gets to commit, even after another one failed
+    private Exception commitBatch() {
+        Exception failure = null;
+        for (OutboxHandler handler : handlers) {
+            try {
+                handler.commitBatch();
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        return failure;
+    }
+
+    // Dirty-checked: the new attempt count and retry time are written when the batch commits
+    private void reschedule(OutboxEvent event, Exception error, LocalDateTime now) {
+        event.failed(error, now.plus(retryBackoff.multipliedBy(event.getAttempts() + 1L)));
+        failed.increment();
+        if (event.getAttempts() >= maxAttempts) {
+            log.error("Outbox event {} ({}) gave up after {} attempts", event.getId(), event.getEventType(), event.getAttempts(), error);
+        } else {
+            log.warn("Outbox event {} ({}) failed, attempt {}", event.getId(), event.getEventType(), event.getAttempts(), error);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.rafaellor.forumhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaellor.forumhub.model.OutboxEvent;
+import com.rafaellor.forumhub.model.OutboxEventType;
+import com.rafaellor.forumhub.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Records a topic or answer change. Must join the transaction that makes the change, so the event
+     * exists if and only if the change commits.
+     *
+     * @param payload snapshot serialized as JSON, or {@code null}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType eventType, Long topicId, Long answerId, Object payload) {
+        outboxRepository.save(new OutboxEvent(eventType, topicId, answerId, toJson(payload)));
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.rafaellor.forumhub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (BCrypt encode/match) on a small dedicated pool instead of the request threads.
+ * The queue is bounded: once it is full, {@link #submit} throws {@link RejectedExecutionException}
+ * right away, which {@code ErrorHandler} turns into a 503.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Value("${api.security.hashing.threads:2}")
+    private int threads;
+
+    @Value("${api.security.hashing.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Publishes executor.queued (queue depth), executor.active and the idle/execution timers
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "passwordHashing");
+        rejected = Counter.builder("forumhub.password.hashing.rejected")
+                .description("Hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool. The {@code forumhub.password.hashing} timer records the
+     * time from submission to completion, queue wait included, tagged with {@code operation}.
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return CompletableFuture.supplyAsync(task, executor)
+                    .whenComplete((result, ex) -> sample.stop(meterRegistry.timer("forumhub.password.hashing", "operation", operation)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for it, for callers that have to stay on their own
+     * thread (the user lookup and transaction around the hash). Unchecked exceptions from the task are
+     * rethrown as-is.
+     */
+    public <T> T call(String operation, Supplier<T> task) {
+        try {
+            return submit(operation, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
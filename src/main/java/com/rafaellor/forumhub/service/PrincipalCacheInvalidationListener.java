@@ -0,0 +1,34 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.model.Profile;
+import com.rafaellor.forumhub.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener registered on {@link User} and {@link Profile} that drops cached principals
+ * whenever the underlying rows change.
+ */
+@Component
+public class PrincipalCacheInvalidationListener {
+
+    // Resolved lazily: JPA test slices bootstrap the entities without the service layer.
+    @Autowired
+    private ObjectProvider<PrincipalCacheService> principalCacheService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            principalCacheService.ifAvailable(cache -> cache.invalidate(user.getUsername()));
+        } else if (entity instanceof Profile) {
+            // A renamed or removed profile can affect the authorities of any user.
+            principalCacheService.ifAvailable(PrincipalCacheService::invalidateAll);
+        }
+    }
+}
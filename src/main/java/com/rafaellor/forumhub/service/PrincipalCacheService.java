@@ -0,0 +1,68 @@
+package com.rafaellor.forumhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rafaellor.forumhub.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Keeps recently authenticated users in memory, keyed by the JWT subject (username),
+ * so that {@code SecurityFilter} does not have to query users and profiles on every request.
+ */
+@Service
+public class PrincipalCacheService {
+
+    @Value("${api.security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${api.security.principal-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, User> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalCache");
+    }
+
+    /**
+     * Returns the cached user for the given username, loading it with {@code loader} on a miss.
+     * A {@code null} result from the loader is not cached.
+     */
+    public User get(String username, Function<String, User> loader) {
+        return cache.get(username, loader);
+    }
+
+    /**
+     * Evicts the given username now and again once the surrounding transaction commits,
+     * so a concurrent request cannot repopulate the cache with the pre-commit state.
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.invalidate(username);
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(username));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        TransactionCallbacks.afterCommit(cache::invalidateAll);
+    }
+}
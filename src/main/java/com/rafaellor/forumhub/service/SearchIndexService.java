@@ -0,0 +1,327 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.config.CursorFetchDataSource;
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.model.OutboxEvent;
+import com.rafaellor.forumhub.repository.AnswerRepository;
+import com.rafaellor.forumhub.repository.AnswerRepository.TopicAnswerText;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index of topics on local disk: one Lucene document per topic holding its title, message
+ * and the text of all its answers. Changed topic ids arrive as outbox events; each relayed batch is
+ * re-indexed and committed before the relay deletes its rows, so a crash never loses a change and a
+ * burst of answers on the same topic costs a single re-index. The whole index is rebuilt from the
+ * database on a schedule, on demand and at startup when it is empty.
+ */
+@Slf4j
+@Service
+public class SearchIndexService implements OutboxHandler {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String MESSAGE = "message";
+    static final String ANSWERS = "answers";
+
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 3f, MESSAGE, 1f, ANSWERS, 0.5f);
+    private static final int MAX_RESULTS = 1000;
+
+    @Value("${api.search.index-dir:data/search-index}")
+    private Path indexDir;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Topic ids of the outbox batch being relayed; successive batches may run on different scheduler threads
+    private final Set<Long> relayed = ConcurrentHashMap.newKeySet();
+    // Held by whoever writes to the index; a rebuild holds it until the new index is committed
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Directory directory;
+    private Analyzer analyzer;
+    // Replaced by reopen() under the write lock while searches read them without it
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void open() throws IOException {
+        // Lower-cased and accent-folded, so "configuração" matches "configuracao"
+        analyzer = CustomAnalyzer.builder()
+                .withTokenizer("standard")
+                .addTokenFilter("lowercase")
+                .addTokenFilter("asciiFolding")
+                .build();
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        writeLock.lock();
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() throws IOException {
+        if (writer.getDocStats().numDocs == 0) {
+            rebuild();
+        }
+    }
+
+    // Every forum event changes, creates or removes searchable text of its topic
+    @Override
+    public void handle(OutboxEvent event) {
+        relayed.add(event.getTopicId());
+    }
+
+    /**
+     * Re-indexes the topics of the relayed batch and commits the index. A topic that no longer exists
+     * is removed from the index. Waits for a running rebuild to finish. On failure the uncommitted
+     * changes are rolled back and the exception makes the relay deliver the batch again.
+     */
+    @Override
+    public void commitBatch() throws IOException {
+        if (relayed.isEmpty()) {
+            return;
+        }
+        List<Long> topicIds = List.copyOf(relayed);
+        relayed.clear();
+        writeLock.lock();
+        try {
+            reindex(topicIds);
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            writer.rollback();
+            reopen();
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the topics matching {@code text} in title, message or answers, best match first. The
+     * text is taken literally (query syntax is escaped) and every term must match. Only the first
+     * {@value #MAX_RESULTS} hits can be paged through.
+     */
+    public Page<TopicResponseDto> search(String text, Pageable pageable) throws IOException {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text must not be blank");
+        }
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_RESULTS) {
+            throw new IllegalArgumentException("Only the first " + MAX_RESULTS + " results can be paged through");
+        }
+        Query query = parse(text);
+
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        long totalHits;
+        SearcherManager manager = searcherManager;
+        IndexSearcher searcher;
+        try {
+            searcher = manager.acquire();
+        } catch (AlreadyClosedException e) {
+            // Closed by a failed commit or rebuild reopening the index since it was read; the new one is already set
+            manager = searcherManager;
+            try {
+                searcher = manager.acquire();
+            } catch (AlreadyClosedException closed) {
+                throw new IOException("Search index is closed", closed);
+            }
+        }
+        try {
+            TopDocs topDocs = searcher.search(query, (int) pageable.getOffset() + pageable.getPageSize());
+            totalHits = topDocs.totalHits.value();
+            StoredFields storedFields = searcher.storedFields();
+            ScoreDoc[] hits = topDocs.scoreDocs;
+            for (int i = (int) pageable.getOffset(); i < hits.length; i++) {
+                ids.add(Long.valueOf(storedFields.document(hits[i].doc, Set.of(ID)).get(ID)));
+            }
+        } finally {
+            manager.release(searcher);
+        }
+
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, totalHits);
+        }
+        Map<Long, TopicResponseDto> topics = topicRepository.findResponsesByIds(ids).stream()
+                .collect(Collectors.toMap(TopicResponseDto::getId, Function.identity()));
+        // Keeps the ranking order; a topic deleted since the last refresh is simply left out
+        List<TopicResponseDto> content = ids.stream()
+                .map(topics::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, pageable, totalHits);
+    }
+
+    /**
+     * Replaces the whole index with the current database content, reading topics and answers as two
+     * ordered streams. Searches keep using the previous index until the new one is committed.
+     *
+     * @return the number of topics indexed
+     */
+    @Scheduled(cron = "${api.search.rebuild-cron:0 0 4 * * *}")
+    public long rebuild() throws IOException {
+        writeLock.lock();
+        try {
+            long started = System.nanoTime();
+            writer.deleteAll();
+            long indexed;
+            // Both streams stay open together, which needs server-side cursors rather than a streaming result set
+            try (CursorFetchDataSource.Scope ignored = CursorFetchDataSource.open()) {
+                indexed = readOnlyTransaction.execute(status -> {
+                    try (Stream<TopicResponseDto> topics = topicRepository.streamAllResponses();
+                         Stream<TopicAnswerText> answers = answerRepository.streamAllTextOrderByTopic()) {
+                        return indexAll(topics.iterator(), answers.iterator());
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Any failure (including one opening the transaction) must not leave the index emptied by deleteAll
+                writer.rollback();
+                reopen();
+                throw e;
+            }
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("Search index rebuilt: {} topics in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+            return indexed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private long indexAll(Iterator<TopicResponseDto> topics, Iterator<TopicAnswerText> answers) {
+        long indexed = 0;
+        TopicAnswerText answer = answers.hasNext() ? answers.next() : null;
+        try {
+            while (topics.hasNext()) {
+                TopicResponseDto topic = topics.next();
+                // Both streams are ordered by topic id, so the answers of a topic are contiguous
+                while (answer != null && answer.getTopicId() < topic.getId()) {
+                    answer = answers.hasNext() ? answers.next() : null;
+                }
+                List<String> texts = new ArrayList<>();
+                while (answer != null && answer.getTopicId().equals(topic.getId())) {
+                    texts.add(answer.getMessage());
+                    answer = answers.hasNext() ? answers.next() : null;
+                }
+                writer.addDocument(document(topic, texts));
+                indexed++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return indexed;
+    }
+
+    private void reindex(List<Long> topicIds) throws IOException {
+        Map<Long, TopicResponseDto> topics = topicRepository.findResponsesByIds(topicIds).stream()
+                .collect(Collectors.toMap(TopicResponseDto::getId, Function.identity()));
+        Map<Long, List<String>> answers = answerRepository.findTextByTopicIds(topicIds).stream()
+                .collect(Collectors.groupingBy(TopicAnswerText::getTopicId,
+                        Collectors.mapping(TopicAnswerText::getMessage, Collectors.toList())));
+
+        for (Long id : topicIds) {
+            Term idTerm = new Term(ID, id.toString());
+            TopicResponseDto topic = topics.get(id);
+            if (topic == null) {
+                writer.deleteDocuments(idTerm);
+            } else {
+                writer.updateDocument(idTerm, document(topic, answers.getOrDefault(id, List.of())));
+            }
+        }
+    }
+
+    // A rolled back IndexWriter is closed, so the writer and the searcher manager are opened again
+    private void reopen() throws IOException {
+        searcherManager.close();
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    private Query parse(String text) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{TITLE, MESSAGE, ANSWERS}, analyzer, BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            // Lower-cased first so AND / OR / NOT are searched as words rather than operators
+            return parser.parse(QueryParser.escape(text.toLowerCase(Locale.ROOT)));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid search text: " + e.getMessage());
+        }
+    }
+
+    private static Document document(TopicResponseDto topic, List<String> answers) {
+        Document document = new Document();
+        document.add(new StringField(ID, topic.getId().toString(), Field.Store.YES));
+        document.add(new TextField(TITLE, topic.getTitle(), Field.Store.NO));
+        document.add(new TextField(MESSAGE, topic.getMessage(), Field.Store.NO));
+        for (String answer : answers) {
+            document.add(new TextField(ANSWERS, answer, Field.Store.NO));
+        }
+        return document;
+    }
+}
@@ -1,30 +1,79 @@
 package com.rafaellor.forumhub.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.rafaellor.forumhub.model.Profile;
 import com.rafaellor.forumhub.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "API Forum Hub";
+    private static final String ID_CLAIM = "id";
+    private static final String ROLES_CLAIM = "roles";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Both are immutable and thread-safe, so they are built once instead of on every call
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    // Recently verified tokens, each kept only until its own expiration
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(Expiry.creating((String token, DecodedJWT jwt) -> timeToExpiry(jwt)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokenCache");
+    }
+
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+            List<String> roles = user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
 
             return JWT.create()
-                    .withIssuer("API Forum Hub")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getUsername())
+                    .withClaim(ID_CLAIM, user.getId())
+                    .withClaim(ROLES_CLAIM, roles)
                     .withExpiresAt(expirationDate())
                     .sign(algorithm);
         } catch (JWTCreationException exception){
@@ -33,18 +82,48 @@ public class TokenService {
     }
 
     public String getSubject(String token) {
+        return verify(token).getSubject(); // Get the subject (username)
+    }
+
+    /**
+     * Builds a detached {@link User} carrying only the id, username and profiles embedded in an already
+     * verified token, without touching the database. Returns {@code null} for tokens issued before these
+     * claims existed.
+     */
+    public User getStatelessPrincipal(DecodedJWT jwt) {
+        Long id = jwt.getClaim(ID_CLAIM).asLong();
+        List<String> roles = jwt.getClaim(ROLES_CLAIM).asList(String.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(id);
+        user.setUsername(jwt.getSubject());
+        user.setProfiles(roles.stream()
+                .map(role -> new Profile(null, role))
+                .collect(Collectors.toSet()));
+        return user;
+    }
+
+    public DecodedJWT verify(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("API Forum Hub")
-                    .build()
-                    .verify(token) // Verify the token
-                    .getSubject(); // Get the subject (username)
+            // Only successfully verified tokens are cached; failures are thrown out of the loader
+            return verifiedTokens.get(token, verifier::verify);
         } catch (JWTVerificationException exception){
             throw new RuntimeException("Invalid or expired JWT token", exception);
         }
     }
 
+    private static Duration timeToExpiry(DecodedJWT jwt) {
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        if (expiresAt == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
     private Instant expirationDate() {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00")); // Adjust to your timezone (e.g., -03:00 for Brazil)
     }
@@ -0,0 +1,50 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.repository.TopicRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single entry point for recording that a topic, or one of its answers, has changed. Every method
+ * bumps the topic version and evicts the cached response; the answer methods also keep the
+ * denormalized answer statistics on {@code topics} in step.
+ */
+@Service
+public class TopicActivityService {
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private TopicCacheService topicCacheService;
+
+    /**
+     * Bumps the topic version used for ETag / Last-Modified and drops its cached response.
+     * Must run inside the transaction that makes the change.
+     */
+    public void touch(Long topicId) {
+        topicRepository.touch(topicId, LocalDateTime.now());
+        topicCacheService.evict(topicId);
+    }
+
+    public void answerAdded(Long topicId, LocalDateTime answeredAt) {
+        answersAdded(topicId, 1, answeredAt);
+    }
+
+    public void answersAdded(Long topicId, int count, LocalDateTime lastAnsweredAt) {
+        topicRepository.addAnswers(topicId, count, lastAnsweredAt, LocalDateTime.now());
+        topicCacheService.evict(topicId);
+    }
+
+    public void answerRemoved(Long topicId, Long answerId) {
+        topicRepository.removeAnswer(topicId, answerId, LocalDateTime.now());
+        topicCacheService.evict(topicId);
+    }
+
+    public void solutionMarked(Long topicId, Long answerId) {
+        topicRepository.markSolved(topicId, answerId, LocalDateTime.now());
+        topicCacheService.evict(topicId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.rafaellor.forumhub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of fully built {@link TopicResponseDto}s for {@code GET /topics/{id}}.
+ * Every write path that changes what the DTO shows must call {@link #evict(Long)}.
+ */
+@Service
+public class TopicCacheService {
+
+    @Value("${api.cache.topics.max-size:5000}")
+    private long maxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, TopicResponseDto> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "topicCache");
+    }
+
+    public Optional<TopicResponseDto> get(Long id, Function<Long, Optional<TopicResponseDto>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Evicts now and again after commit, so a read racing the transaction cannot re-cache stale data.
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+        TransactionCallbacks.afterCommit(() -> cache.invalidate(id));
+    }
+}
@@ -0,0 +1,191 @@
+package com.rafaellor.forumhub.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of topic events to Server-Sent Events subscribers. Publishing only enqueues:
+ * each subscriber has a bounded buffer drained by its own virtual thread, so a slow client never
+ * holds up the publisher or the other subscribers. A subscriber whose buffer overflows is dropped
+ * and can reconnect and reload the answers.
+ */
+@Slf4j
+@Service
+public class TopicEventBus {
+
+    @Value("${api.events.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${api.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${api.events.timeout:30m}")
+    private Duration timeout;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ExecutorService senders;
+    private Counter dropped;
+
+    // A non-null comment is sent as an SSE comment line (connection and heartbeat messages)
+    private record Event(String name, String id, Object data, String comment) {
+    }
+
+    private static final class Subscriber {
+        private final Long topicId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long topicId, SseEmitter emitter, int bufferSize) {
+            this.topicId = topicId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("topic-events-", 0).factory());
+        Gauge.builder("forumhub.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open topic event streams")
+                .register(meterRegistry);
+        dropped = Counter.builder("forumhub.events.dropped")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(topicSubscribers -> topicSubscribers.forEach(this::close));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Opens an event stream for the topic.
+     *
+     * @throws RejectedExecutionException when {@code api.events.max-subscribers} streams are already open
+     */
+    public SseEmitter subscribe(Long topicId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RejectedExecutionException("Too many open event streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(topicId, emitter, bufferSize);
+        subscribers.compute(topicId, (id, topicSubscribers) -> {
+            Set<Subscriber> set = topicSubscribers != null ? topicSubscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        // Flushes the response headers, so the client sees the stream open straight away
+        offer(subscriber, new Event(null, null, null, "connected"));
+        return emitter;
+    }
+
+    /**
+     * Sends {@code data} as a {@code name} event to every subscriber of the topic once the surrounding
+     * transaction commits.
+     */
+    public void publish(Long topicId, String name, Long id, Object data) {
+        TransactionCallbacks.afterCommit(() -> {
+            Set<Subscriber> topicSubscribers = subscribers.get(topicId);
+            if (topicSubscribers == null) {
+                return;
+            }
+            Event event = new Event(name, id != null ? id.toString() : null, data, null);
+            topicSubscribers.forEach(subscriber -> offer(subscriber, event));
+        });
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${api.events.heartbeat-interval:15s}")
+    public void heartbeat() {
+        Event heartbeat = new Event(null, null, null, "heartbeat");
+        subscribers.values().forEach(topicSubscribers -> topicSubscribers.forEach(subscriber -> offer(subscriber, heartbeat)));
+    }
+
+    private void offer(Subscriber subscriber, Event event) {
+        if (!subscriber.buffer.offer(event)) {
+            dropped.increment();
+            log.debug("Dropping slow event subscriber of topic {}", subscriber.topicId);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Event event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                try {
+                    subscriber.emitter.send(toSse(event));
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone or emitter already completed
+                    close(subscriber);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event offered after the last poll but before the flag was cleared is picked up here
+        } while (!subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscriber.buffer.clear();
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.topicId, (id, topicSubscribers) -> {
+            topicSubscribers.remove(subscriber);
+            return topicSubscribers.isEmpty() ? null : topicSubscribers;
+        });
+        return true;
+    }
+
+    // Built per send: SseEventBuilder instances cannot be shared between emitters
+    private static SseEmitter.SseEventBuilder toSse(Event event) {
+        if (event.comment() != null) {
+            return SseEmitter.event().comment(event.comment());
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+        return event.id() != null ? builder.id(event.id()) : builder;
+    }
+}
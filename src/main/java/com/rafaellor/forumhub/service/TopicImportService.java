@@ -0,0 +1,267 @@
+package com.rafaellor.forumhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rafaellor.forumhub.dto.AnswerImportDto;
+import com.rafaellor.forumhub.dto.ImportReportDto;
+import com.rafaellor.forumhub.dto.TopicImportDto;
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.OutboxEventType;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.CourseRepository;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Loads legacy topics (with their answers) from an NDJSON stream. Lines are parsed one at a time and
+ * written in chunks of {@code api.admin.import.chunk-size}, each in its own transaction, so neither the
+ * payload nor the persistence context grows with the size of the file. The persistence context is cleared
+ * after every chunk, which matters when the caller already has an EntityManager bound (open-in-view, an
+ * outer transaction): every chunk would otherwise join it and each flush would dirty-check all the
+ * earlier chunks again. A chunk that fails is rolled back and reported; the chunks before it stay committed.
+ */
+@Slf4j
+@Service
+public class TopicImportService {
+
+    @Value("${api.admin.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ObjectReader reader;
+    private TransactionTemplate transactionTemplate;
+
+    private record Line(long number, TopicImportDto topic) {
+    }
+
+    @PostConstruct
+    void init() {
+        reader = objectMapper.readerFor(TopicImportDto.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportReportDto importTopics(InputStream body) throws IOException {
+        ImportReportDto report = new ImportReportDto();
+        Set<Long> courseIds = courseRepository.findAll().stream().map(Course::getId).collect(Collectors.toSet());
+        Map<String, Long> authorIds = new HashMap<>();
+        List<Line> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+            while ((text = lines.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                report.setLinesRead(report.getLinesRead() + 1);
+
+                TopicImportDto topic = parse(text, lineNumber, courseIds, report);
+                if (topic == null) {
+                    continue;
+                }
+                chunk.add(new Line(lineNumber, topic));
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, authorIds, report);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, authorIds, report);
+        }
+
+        log.info("Import finished: {}", report);
+        return report;
+    }
+
+    private TopicImportDto parse(String text, long lineNumber, Set<Long> courseIds, ImportReportDto report) {
+        TopicImportDto topic;
+        try {
+            topic = reader.readValue(text);
+        } catch (JsonProcessingException e) {
+            invalid(report, lineNumber, "malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<TopicImportDto>> violations = validator.validate(topic);
+        if (!violations.isEmpty()) {
+            invalid(report, lineNumber, violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        if (!courseIds.contains(topic.getCourseId())) {
+            invalid(report, lineNumber, "course not found: " + topic.getCourseId());
+            return null;
+        }
+        return topic;
+    }
+
+    private void writeChunk(List<Line> chunk, Map<String, Long> authorIds, ImportReportDto report) {
+        try {
+            ImportReportDto chunkReport = transactionTemplate.execute(status -> persistChunk(chunk, authorIds));
+            report.merge(chunkReport);
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            // The flush goes through the EntityManager directly, so its errors are not translated to DataAccessException
+            report.setFailedLines(report.getFailedLines() + chunk.size());
+            report.addError(chunk.getFirst().number(), "chunk up to line " + chunk.getLast().number()
+                    + " rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            log.warn("Import chunk ending at line {} failed", chunk.getLast().number(), e);
+        } finally {
+            entityManager.clear();
+        }
+        log.info("Import progress: {} lines read, {} topics and {} answers imported, {} duplicates, {} invalid, {} failed",
+                report.getLinesRead(), report.getTopicsImported(), report.getAnswersImported(),
+                report.getDuplicatesSkipped(), report.getInvalidLines(), report.getFailedLines());
+    }
+
+    // Counts into its own report, merged only once the chunk commits
+    private ImportReportDto persistChunk(List<Line> chunk, Map<String, Long> authorIds) {
+        ImportReportDto report = new ImportReportDto();
+        resolveAuthors(chunk, authorIds);
+
+        // One query per check for the whole chunk instead of existsByTitle/existsByMessage per line
+        Set<String> titles = chunk.stream().map(line -> line.topic().getTitle()).collect(Collectors.toSet());
+        Set<String> hashes = chunk.stream().map(line -> Topic.hashMessage(line.topic().getMessage())).collect(Collectors.toSet());
+        Set<String> seenTitles = topicRepository.findExistingTitles(titles).stream()
+                .map(title -> title.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<String> seenHashes = new HashSet<>(topicRepository.findExistingMessageHashes(hashes));
+
+        List<Long> importedTopicIds = new ArrayList<>();
+        List<Long> solvedTopicIds = new ArrayList<>();
+        for (Line line : chunk) {
+            TopicImportDto dto = line.topic();
+            String hash = Topic.hashMessage(dto.getMessage());
+            if (!seenTitles.add(dto.getTitle().toLowerCase(Locale.ROOT)) || !seenHashes.add(hash)) {
+                report.setDuplicatesSkipped(report.getDuplicatesSkipped() + 1);
+                continue;
+            }
+
+            String missingAuthor = findMissingAuthor(dto, authorIds);
+            if (missingAuthor != null) {
+                invalid(report, line.number(), "author not found: " + missingAuthor);
+                continue;
+            }
+
+            LocalDateTime creationDate = dto.getCreationDate() != null ? dto.getCreationDate() : LocalDateTime.now();
+            Topic topic = new Topic(null, dto.getTitle(), dto.getMessage(), creationDate, true,
+                    userReference(dto.getAuthorUsername(), authorIds),
+                    entityManager.getReference(Course.class, dto.getCourseId()),
+                    new ArrayList<>());
+            for (AnswerImportDto answerDto : dto.getAnswers()) {
+                LocalDateTime answeredAt = answerDto.getCreationDate() != null ? answerDto.getCreationDate() : creationDate;
+                topic.getAnswers().add(new Answer(null, answerDto.getMessage(), topic, answeredAt,
+                        userReference(answerDto.getAuthorUsername(), authorIds), answerDto.isSolution()));
+                if (answerDto.isSolution()) {
+                    topic.close();
+                }
+            }
+            topic.setAnswerCount(topic.getAnswers().size());
+            topic.setLastAnswerAt(topic.getAnswers().stream()
+                    .map(Answer::getCreationDate)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null));
+            entityManager.persist(topic);
+            importedTopicIds.add(topic.getId());
+            if (!topic.getStatus()) {
+                solvedTopicIds.add(topic.getId());
+            }
+            report.setTopicsImported(report.getTopicsImported() + 1);
+            report.setAnswersImported(report.getAnswersImported() + topic.getAnswers().size());
+        }
+        entityManager.flush();
+        if (!solvedTopicIds.isEmpty()) {
+            topicRepository.refreshSolvedAnswers(solvedTopicIds);
+        }
+        // Committed with the chunk, so the search index picks the topics up through the outbox relay
+        for (Long topicId : importedTopicIds) {
+            outboxService.record(OutboxEventType.TOPIC_CREATED, topicId, null, null);
+        }
+        return report;
+    }
+
+    private void resolveAuthors(List<Line> chunk, Map<String, Long> authorIds) {
+        Set<String> missing = new HashSet<>();
+        for (Line line : chunk) {
+            missing.add(line.topic().getAuthorUsername());
+            line.topic().getAnswers().forEach(answer -> missing.add(answer.getAuthorUsername()));
+        }
+        missing.removeAll(authorIds.keySet());
+        if (!missing.isEmpty()) {
+            userRepository.findByUsernameIn(missing).forEach(user -> authorIds.put(user.getUsername(), user.getId()));
+        }
+    }
+
+    private String findMissingAuthor(TopicImportDto dto, Map<String, Long> authorIds) {
+        if (!authorIds.containsKey(dto.getAuthorUsername())) {
+            return dto.getAuthorUsername();
+        }
+        return dto.getAnswers().stream()
+                .map(AnswerImportDto::getAuthorUsername)
+                .filter(username -> !authorIds.containsKey(username))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private User userReference(String username, Map<String, Long> authorIds) {
+        return entityManager.getReference(User.class, authorIds.get(username));
+    }
+
+    private static void invalid(ImportReportDto report, long lineNumber, String error) {
+        report.setInvalidLines(report.getInvalidLines() + 1);
+        report.addError(lineNumber, error);
+    }
+}
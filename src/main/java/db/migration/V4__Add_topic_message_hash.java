@@ -0,0 +1,154 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Replaces the wide UNIQUE constraint on topics.message with a unique index on a SHA-256 hash
+ * of the normalized message. Written in Java so the backfill hashes the same way on MySQL and H2.
+ * <p>
+ * The normalization is copied here rather than calling the entity, so this migration keeps producing
+ * the same hashes if the application's rule ever changes. Normalizing can make distinct stored messages
+ * equal (e.g. only differing in spacing); the oldest topic keeps the plain hash and later ones get a
+ * hash salted with their id, so the unique index can always be built.
+ * <p>
+ * MySQL commits DDL implicitly, so the steps are ordered to leave a usable schema if one fails: the old
+ * constraint is only dropped once the new index exists, and the column is only added if it is missing.
+ */
+public class V4__Add_topic_message_hash extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(V4__Add_topic_message_hash.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+
+        if (!hasMessageHashColumn(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE topics ADD COLUMN message_hash CHAR(64)");
+            }
+        }
+
+        backfillHashes(connection);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(mysql
+                    ? "ALTER TABLE topics MODIFY message_hash CHAR(64) NOT NULL"
+                    : "ALTER TABLE topics ALTER COLUMN message_hash SET NOT NULL");
+            statement.execute("CREATE UNIQUE INDEX uk_topics_message_hash ON topics (message_hash)");
+        }
+
+        dropMessageUniqueConstraint(connection, mysql);
+    }
+
+    private boolean hasMessageHashColumn(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : List.of("topics", "TOPICS")) {
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (columns.next()) {
+                    if ("message_hash".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void backfillHashes(Connection connection) throws SQLException {
+        Set<String> seen = new HashSet<>();
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, message FROM topics ORDER BY id");
+             PreparedStatement update = connection.prepareStatement("UPDATE topics SET message_hash = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                long id = rows.getLong("id");
+                String normalized = normalize(rows.getString("message"));
+                String hash = sha256(normalized);
+                if (!seen.add(hash)) {
+                    log.warn("Topic {} has the same normalized message as an older topic; storing an id-salted hash", id);
+                    hash = sha256(normalized + "\u0000" + id);
+                    seen.add(hash);
+                }
+                update.setString(1, hash);
+                update.setLong(2, id);
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    // Frozen copy of the normalization in Topic.hashMessage as of this version
+    private static String normalize(String message) {
+        return message.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // The constraint was declared inline in V1, so its generated name differs between MySQL and H2
+    private void dropMessageUniqueConstraint(Connection connection, boolean mysql) throws SQLException {
+        String schema = mysql ? connection.getCatalog() : connection.getSchema();
+
+        String sql = """
+                SELECT tc.CONSTRAINT_NAME
+                FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc
+                JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu
+                  ON kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+                 AND kcu.TABLE_SCHEMA = tc.TABLE_SCHEMA
+                 AND kcu.TABLE_NAME = tc.TABLE_NAME
+                WHERE tc.CONSTRAINT_TYPE = 'UNIQUE'
+                  AND tc.TABLE_SCHEMA = ?
+                  AND UPPER(tc.TABLE_NAME) = 'TOPICS'
+                  AND UPPER(kcu.COLUMN_NAME) = 'MESSAGE'
+                """;
+        List<String> constraintNames = new ArrayList<>();
+        try (PreparedStatement lookup = connection.prepareStatement(sql)) {
+            lookup.setString(1, schema);
+            try (ResultSet constraints = lookup.executeQuery()) {
+                while (constraints.next()) {
+                    constraintNames.add(constraints.getString(1));
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String constraintName : constraintNames) {
+                statement.execute("ALTER TABLE topics DROP CONSTRAINT " + constraintName);
+            }
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Outbox ids now come from id_generators like the other tables, so the outbox rows written for a
+-- batch of ingested answers go out as one JDBC batch instead of one INSERT each
+INSERT INTO id_generators (name, next_val) SELECT 'outbox', COALESCE(MAX(id), 0) + 51 FROM outbox;
@@ -0,0 +1,3 @@
+-- Optimistic lock version of users. Hibernate bumps it when only the profiles of a user change, which
+-- fires the entity listeners that evict the cached principal.
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
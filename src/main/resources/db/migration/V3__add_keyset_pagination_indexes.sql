@@ -0,0 +1,5 @@
+-- Composite indexes matching the (creation_date, id) descending order used by the listing endpoints,
+-- so both the keyset seeks and the ORDER BY are served from the index without a filesort
+CREATE INDEX idx_topics_creation_date_id ON topics (creation_date DESC, id DESC);
+
+CREATE INDEX idx_answers_topic_creation_date_id ON answers (topic_id, creation_date DESC, id DESC);
@@ -0,0 +1,7 @@
+-- Revision counter and timestamp backing ETag / Last-Modified on GET /topics/{id} and /topics/{id}/answers.
+-- Bumped on topic updates and closes and on every answer change.
+ALTER TABLE topics ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE topics ADD COLUMN last_modified DATETIME;
+
+UPDATE topics SET last_modified = creation_date;
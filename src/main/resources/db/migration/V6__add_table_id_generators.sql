@@ -0,0 +1,13 @@
+-- Hi/lo style id allocation for Hibernate's pooled table generator (allocationSize = 50).
+-- IDENTITY columns make Hibernate insert rows one at a time; ids taken from this table let it batch inserts.
+-- Each row holds the upper end of the next block, so seeding with MAX(id) + 51 makes the first block start above existing ids.
+CREATE TABLE id_generators (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (name, next_val) SELECT 'profiles', COALESCE(MAX(id), 0) + 51 FROM profiles;
+INSERT INTO id_generators (name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 51 FROM users;
+INSERT INTO id_generators (name, next_val) SELECT 'courses', COALESCE(MAX(id), 0) + 51 FROM courses;
+INSERT INTO id_generators (name, next_val) SELECT 'topics', COALESCE(MAX(id), 0) + 51 FROM topics;
+INSERT INTO id_generators (name, next_val) SELECT 'answers', COALESCE(MAX(id), 0) + 51 FROM answers;
@@ -0,0 +1,13 @@
+-- Denormalized answer statistics, so listing topics never aggregates over answers.
+-- Kept up to date by the atomic UPDATEs in TopicRepository.
+ALTER TABLE topics ADD COLUMN answer_count INT NOT NULL DEFAULT 0;
+ALTER TABLE topics ADD COLUMN last_answer_at DATETIME;
+ALTER TABLE topics ADD COLUMN solved_answer_id BIGINT;
+
+UPDATE topics SET
+    answer_count = (SELECT COUNT(*) FROM answers a WHERE a.topic_id = topics.id),
+    last_answer_at = (SELECT MAX(a.creation_date) FROM answers a WHERE a.topic_id = topics.id),
+    solved_answer_id = (SELECT MAX(a.id) FROM answers a WHERE a.topic_id = topics.id AND a.solution = TRUE);
+
+ALTER TABLE topics ADD CONSTRAINT fk_topics_solved_answer_id
+    FOREIGN KEY (solved_answer_id) REFERENCES answers(id) ON DELETE SET NULL;
@@ -0,0 +1,8 @@
+-- One composite index per GET /topics filter, each ending in the (creation_date, id) listing order,
+-- so a filtered page is an index range scan without a filesort. On MySQL they also take over from
+-- the implicit foreign key indexes on course_id and author_id.
+CREATE INDEX idx_topics_course_creation_date_id ON topics (course_id, creation_date DESC, id DESC);
+
+CREATE INDEX idx_topics_status_creation_date_id ON topics (status, creation_date DESC, id DESC);
+
+CREATE INDEX idx_topics_author_creation_date_id ON topics (author_id, creation_date DESC, id DESC);
@@ -0,0 +1,17 @@
+-- Transactional outbox: one row per topic/answer change, written in the change's own transaction
+-- and deleted by the relay once every handler has processed it. No foreign keys, so the events of
+-- a deleted topic are still delivered.
+CREATE TABLE outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    topic_id BIGINT NOT NULL,
+    answer_id BIGINT,
+    payload TEXT,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500)
+);
+
+-- Serves the relay's "due and not exhausted, oldest first" scan
+CREATE INDEX idx_outbox_next_attempt_at_id ON outbox (next_attempt_at, id);
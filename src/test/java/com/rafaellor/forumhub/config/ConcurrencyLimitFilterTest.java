@@ -0,0 +1,92 @@
+package com.rafaellor.forumhub.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    @DisplayName("Should pass requests through and release the permit afterwards")
+    void doFilter_withFreePermit_shouldContinueChain() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+
+        // Act: the second request only gets through if the first released its permit
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/topics"), first, new MockFilterChain());
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/topics"), second, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After when every permit is taken")
+    void doFilter_withoutFreePermit_shouldReturn503() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(0, Duration.ofMillis(10));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/topics"), response, chain);
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest(), "The request should not reach the controllers");
+    }
+
+    private static MockHttpServletRequest asyncRequest(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    @Test
+    @DisplayName("Should hold the permit of an async request until it completes")
+    void doFilter_withAsyncRequest_shouldReleaseOnComplete() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        MockHttpServletRequest export = asyncRequest("/admin/export/topics");
+        FilterChain startsAsync = (request, response) -> request.startAsync();
+
+        // Act
+        filter.doFilter(export, new MockHttpServletResponse(), startsAsync);
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/topics"), whileStreaming, new MockFilterChain());
+        export.getAsyncContext().complete();
+        MockHttpServletResponse afterCompletion = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/topics"), afterCompletion, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, whileStreaming.getStatus());
+        assertEquals(200, afterCompletion.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should release the permit of a topic event stream as soon as the stream opens")
+    void doFilter_withEventStream_shouldReleaseImmediately() throws Exception {
+        // Arrange
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        FilterChain startsAsync = (request, response) -> request.startAsync();
+
+        // Act
+        filter.doFilter(asyncRequest("/topics/1/events"), new MockHttpServletResponse(), startsAsync);
+        MockHttpServletResponse next = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/topics"), next, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, next.getStatus());
+    }
+}
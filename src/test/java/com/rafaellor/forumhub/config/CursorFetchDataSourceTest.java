@@ -0,0 +1,43 @@
+package com.rafaellor.forumhub.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CursorFetchDataSourceTest {
+
+    @Test
+    @DisplayName("Should use the cursor-fetch pool only while a scope is open, restoring the outer scope")
+    void getConnection_shouldRouteByScope() throws Exception {
+        // Arrange
+        Connection defaultConnection = mock(Connection.class);
+        Connection cursorConnection = mock(Connection.class);
+        DataSource defaultPool = mock(DataSource.class);
+        DataSource cursorFetchPool = mock(DataSource.class);
+        when(defaultPool.getConnection()).thenReturn(defaultConnection);
+        when(cursorFetchPool.getConnection()).thenReturn(cursorConnection);
+        CursorFetchDataSource dataSource = new CursorFetchDataSource();
+        dataSource.setTargetDataSources(Map.of(false, defaultPool, true, cursorFetchPool));
+        dataSource.setDefaultTargetDataSource(defaultPool);
+        dataSource.afterPropertiesSet();
+
+        // Act & Assert
+        assertSame(defaultConnection, dataSource.getConnection());
+        try (CursorFetchDataSource.Scope outer = CursorFetchDataSource.open()) {
+            try (CursorFetchDataSource.Scope inner = CursorFetchDataSource.open()) {
+                assertSame(cursorConnection, dataSource.getConnection());
+            }
+            assertTrue(CursorFetchDataSource.isActive());
+            assertSame(cursorConnection, dataSource.getConnection());
+        }
+        assertFalse(CursorFetchDataSource.isActive());
+        assertSame(defaultConnection, dataSource.getConnection());
+    }
+}
@@ -0,0 +1,100 @@
+package com.rafaellor.forumhub.config;
+
+import com.rafaellor.forumhub.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderConfigTest {
+
+    @Test
+    @DisplayName("Should match legacy unprefixed BCrypt hashes and flag them for upgrade")
+    void delegatingPasswordEncoder_withLegacyHash_shouldMatchAndUpgrade() {
+        // Arrange
+        PasswordEncoder encoder = SecurityConfig.delegatingPasswordEncoder(new BCryptPasswordEncoder(5));
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    @DisplayName("Should store prefixed hashes and upgrade only when the strength is lower than current")
+    void delegatingPasswordEncoder_shouldUpgradeOnlyWeakerHashes() {
+        // Arrange
+        PasswordEncoder current = SecurityConfig.delegatingPasswordEncoder(new BCryptPasswordEncoder(5));
+        PasswordEncoder weaker = SecurityConfig.delegatingPasswordEncoder(new BCryptPasswordEncoder(4));
+
+        // Act
+        String currentHash = current.encode("secret");
+        String weakerHash = weaker.encode("secret");
+
+        // Assert
+        assertTrue(currentHash.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(current.upgradeEncoding(currentHash));
+        assertTrue(current.matches("secret", weakerHash));
+        assertTrue(current.upgradeEncoding(weakerHash));
+    }
+
+    @Test
+    @DisplayName("Should keep the calibrated strength within the configured range")
+    void calibrate_shouldStayWithinRange() {
+        // Act
+        int tightTarget = BCryptStrengthCalibrator.calibrate(Duration.ofNanos(1), 4, 6);
+        int singleValue = BCryptStrengthCalibrator.calibrate(Duration.ofSeconds(10), 5, 5);
+
+        // Assert
+        assertEquals(4, tightTarget);
+        assertEquals(5, singleValue);
+    }
+
+    @Test
+    @DisplayName("Should run encode and matches on the hashing pool and keep the caller's thread for the rest")
+    void pooledPasswordEncoder_shouldHashOnPool() {
+        // Arrange
+        PasswordHashingService hashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(hashingService, "threads", 1);
+        ReflectionTestUtils.setField(hashingService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(hashingService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(hashingService, "init");
+        List<String> hashingThreads = new ArrayList<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThreads.add(Thread.currentThread().getName());
+                return super.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashingThreads.add(Thread.currentThread().getName());
+                return super.matches(rawPassword, encodedPassword);
+            }
+        };
+        PasswordEncoder encoder = new PooledPasswordEncoder(SecurityConfig.delegatingPasswordEncoder(bcrypt), hashingService);
+
+        try {
+            // Act
+            String hash = encoder.encode("secret");
+            boolean matches = encoder.matches("secret", hash);
+
+            // Assert
+            assertTrue(matches);
+            assertFalse(encoder.upgradeEncoding(hash));
+            assertEquals(2, hashingThreads.size());
+            assertTrue(hashingThreads.stream().allMatch(name -> name.startsWith("password-hashing-")));
+        } finally {
+            ReflectionTestUtils.invokeMethod(hashingService, "shutdown");
+        }
+    }
+}
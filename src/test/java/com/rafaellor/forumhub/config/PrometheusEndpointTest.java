@@ -0,0 +1,69 @@
+package com.rafaellor.forumhub.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "api.security.password.bcrypt-strength=4",
+        "api.search.index-dir=target/prometheus-endpoint-test-index"
+})
+@AutoConfigureTestDatabase
+@AutoConfigureObservability
+@ActiveProfiles("dev")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Should expose the class-level @Timed controller timer on the management port without a token")
+    void prometheus_onManagementPort_shouldExposeControllerTimer() {
+        // Arrange: a failed login still goes through the timed controller method
+        restTemplate.postForEntity("http://localhost:" + serverPort + "/login",
+                Map.of("username", "unknown.user", "password", "wrong-password"), String.class);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("forumhub_controller_seconds_count")
+                .contains("class=\"com.rafaellor.forumhub.controller.AuthenticationController\"")
+                .contains("method=\"login\"");
+    }
+
+    @Test
+    @DisplayName("Should not serve the Prometheus endpoint to anonymous clients on the API port")
+    void prometheus_onApiPort_shouldRequireAuthentication() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode().is4xxClientError()).isTrue();
+        assertThat(response.getBody()).doesNotContain("forumhub_controller");
+    }
+}
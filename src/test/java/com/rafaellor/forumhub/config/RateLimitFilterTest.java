@@ -0,0 +1,117 @@
+package com.rafaellor.forumhub.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter();
+        ReflectionTestUtils.setField(rateLimitFilter, "writesCapacity", 2L);
+        ReflectionTestUtils.setField(rateLimitFilter, "writesPerMinute", 1d);
+        ReflectionTestUtils.setField(rateLimitFilter, "loginCapacity", 1L);
+        ReflectionTestUtils.setField(rateLimitFilter, "loginPerMinute", 1d);
+        ReflectionTestUtils.setField(rateLimitFilter, "idleTimeout", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(rateLimitFilter, "maxBuckets", 100L);
+        ReflectionTestUtils.setField(rateLimitFilter, "meterRegistry", meterRegistry);
+        rateLimitFilter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse post(String path, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once a user has spent the bucket")
+    void doFilter_whenBucketEmpty_shouldReturn429() throws Exception {
+        // Arrange
+        authenticateAs("busy.user");
+
+        // Act
+        MockHttpServletResponse first = post("/topics", "10.0.0.1");
+        MockHttpServletResponse second = post("/answers", "10.0.0.1");
+        MockHttpServletResponse third = post("/topics", "10.0.0.1");
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertNotNull(third.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("forumhub.ratelimit.rejected").tag("group", "writes").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per user and limit anonymous logins per address")
+    void doFilter_shouldKeyByUserOrAddress() throws Exception {
+        // Arrange
+        authenticateAs("first.user");
+        post("/topics", "10.0.0.1");
+        post("/topics", "10.0.0.1");
+
+        // Act
+        authenticateAs("second.user");
+        MockHttpServletResponse otherUser = post("/topics", "10.0.0.1");
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse firstLogin = post("/login", "10.0.0.2");
+        MockHttpServletResponse secondLogin = post("/login", "10.0.0.2");
+        MockHttpServletResponse otherAddress = post("/login", "10.0.0.3");
+
+        // Assert
+        assertEquals(200, otherUser.getStatus());
+        assertEquals(200, firstLogin.getStatus());
+        assertEquals(429, secondLogin.getStatus());
+        assertEquals(200, otherAddress.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not limit reads")
+    void doFilter_withGetRequest_shouldSkip() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topics");
+        request.setServletPath("/topics");
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            rateLimitFilter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+
+        // Assert
+        assertEquals(0, meterRegistry.find("forumhub.ratelimit.rejected").counters().size());
+    }
+}
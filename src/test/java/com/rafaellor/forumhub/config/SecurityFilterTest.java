@@ -0,0 +1,154 @@
+package com.rafaellor.forumhub.config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.rafaellor.forumhub.model.Profile;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SecurityFilterTest {
+
+    private static final String SECRET = "test-secret";
+
+    private SecurityFilter securityFilter;
+    private TokenService tokenService;
+    private UserRepository userRepository;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        PrincipalCacheService principalCacheService = new PrincipalCacheService();
+        ReflectionTestUtils.setField(principalCacheService, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCacheService, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(principalCacheService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(principalCacheService, "init");
+
+        user = new User(7L, "Filter User", "filter@test.com", "filter.user", "password", Set.of(new Profile(1L, "ROLE_USER")));
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("filter.user")).thenReturn(user);
+
+        securityFilter = new SecurityFilter();
+        ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(securityFilter, "userRepository", userRepository);
+        ReflectionTestUtils.setField(securityFilter, "principalCacheService", principalCacheService);
+        ReflectionTestUtils.setField(securityFilter, "meterRegistry", new SimpleMeterRegistry());
+        securityFilter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(String token, boolean stateless) throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", stateless);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topics");
+        request.addHeader("Authorization", "Bearer " + token);
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // Token issued before the id and roles claims were added
+    private static String legacyToken(String username) {
+        return JWT.create()
+                .withIssuer("API Forum Hub")
+                .withSubject(username)
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Test
+    @DisplayName("Should build the principal from the token claims in stateless mode without a lookup")
+    void doFilter_stateless_shouldNotLoadUser() throws Exception {
+        // Act
+        Authentication authentication = authenticate(tokenService.generateToken(user), true);
+
+        // Assert
+        User principal = (User) authentication.getPrincipal();
+        assertNotSame(user, principal);
+        assertEquals(7L, principal.getId());
+        assertEquals("filter.user", principal.getUsername());
+        assertEquals(Set.of("ROLE_USER"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to loading the user for a legacy token in stateless mode")
+    void doFilter_statelessWithLegacyToken_shouldLoadUser() throws Exception {
+        // Act
+        Authentication authentication = authenticate(legacyToken("filter.user"), true);
+
+        // Assert
+        assertSame(user, authentication.getPrincipal());
+        verify(userRepository).findByUsername("filter.user");
+    }
+
+    @Test
+    @DisplayName("Should load the user when stateless mode is off")
+    void doFilter_stateful_shouldLoadUser() throws Exception {
+        // Act
+        Authentication authentication = authenticate(tokenService.generateToken(user), false);
+
+        // Assert
+        assertSame(user, authentication.getPrincipal());
+        verify(userRepository).findByUsername("filter.user");
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another secret")
+    void doFilter_withTamperedToken_shouldThrow() {
+        // Arrange
+        String forged = JWT.create()
+                .withIssuer("API Forum Hub")
+                .withSubject("filter.user")
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256("another-secret"));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> authenticate(forged, true));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should treat the detached stateless principal as the owner of the user's content")
+    void statelessPrincipal_shouldMatchPersistedAuthor() throws Exception {
+        // Arrange
+        User otherAuthor = new User(8L, "Other", "other@test.com", "other.user", "password", null);
+
+        // Act
+        User principal = (User) authenticate(tokenService.generateToken(user), true).getPrincipal();
+
+        // Assert
+        assertTrue(principal.isSameUserAs(user));
+        assertFalse(principal.isSameUserAs(otherAuthor));
+        assertFalse(principal.isSameUserAs(null));
+    }
+}
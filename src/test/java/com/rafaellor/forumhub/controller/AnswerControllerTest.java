@@ -2,6 +2,7 @@ package com.rafaellor.forumhub.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rafaellor.forumhub.dto.AnswerCreateDto;
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
 import com.rafaellor.forumhub.dto.AnswerUpdateDto;
 import com.rafaellor.forumhub.model.Answer;
 import com.rafaellor.forumhub.model.Course;
@@ -9,6 +10,15 @@ import com.rafaellor.forumhub.model.Topic;
 import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.repository.AnswerRepository;
 import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.OutboxService;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.TokenService;
+import com.rafaellor.forumhub.service.TopicActivityService;
+import com.rafaellor.forumhub.service.TopicCacheService;
+import com.rafaellor.forumhub.service.TopicEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -17,7 +27,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -25,8 +35,11 @@ import java.util.Optional;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,28 +52,47 @@ class AnswerControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
+    @MockitoBean
     private AnswerRepository answerRepository;
 
-    @Autowired
+    @MockitoBean
     private TopicRepository topicRepository;
 
+    @MockitoBean
+    private TopicEventBus topicEventBus;
+
+    @MockitoBean
+    private OutboxService outboxService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private PrincipalCacheService principalCacheService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
     @TestConfiguration
     static class ControllerTestConfig {
         @Bean
-        public AnswerRepository answerRepository() {
-            return Mockito.mock(AnswerRepository.class);
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
 
         @Bean
-        public TopicRepository topicRepository() {
-            return Mockito.mock(TopicRepository.class);
+        public TopicCacheService topicCacheService() {
+            return new TopicCacheService();
+        }
+
+        @Bean
+        public TopicActivityService topicActivityService() {
+            return new TopicActivityService();
         }
     }
 
     @Test
     @DisplayName("Should return 201 Created when creating a valid answer")
-    @WithMockUser(username = "test.user")
     void createAnswer_withValidData_shouldReturn201() throws Exception {
         // Arrange
         AnswerCreateDto createDto = new AnswerCreateDto();
@@ -71,26 +103,30 @@ class AnswerControllerTest {
         Course course = new Course(1L, "Spring Boot", "Backend");
         Topic topic = new Topic(1L, "Test Topic", "Message", LocalDateTime.now(), true, author, course, List.of());
 
-        Answer savedAnswer = new Answer(10L, createDto.getMessage(), topic, LocalDateTime.now(), author, false);
-
         when(topicRepository.findById(1L)).thenReturn(Optional.of(topic));
-        when(answerRepository.save(any(Answer.class))).thenReturn(savedAnswer);
+        // The controller keeps using the instance it saved, so the id is assigned in place as on persist
+        when(answerRepository.save(any(Answer.class))).thenAnswer(invocation -> {
+            Answer answer = invocation.getArgument(0);
+            answer.setId(10L);
+            return answer;
+        });
 
         // Act & Assert
         mockMvc.perform(post("/answers")
+                        .with(user(author))
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createDto)))
                 .andExpect(status().isCreated())
                 .andExpect(header().exists("Location"))
-                .andExpect(jsonPath("$.id").value(savedAnswer.getId()))
+                .andExpect(jsonPath("$.id").value(10L))
                 .andExpect(jsonPath("$.message").value(createDto.getMessage()))
                 .andExpect(jsonPath("$.authorUsername").value(author.getUsername()));
+        verify(topicEventBus).publish(eq(1L), eq("answer-created"), any(), any(AnswerResponseDto.class));
     }
 
     @Test
     @DisplayName("Should return 200 OK when updating an answer")
-    @WithMockUser(username = "test.user")
     void updateAnswer_withValidData_shouldReturn200() throws Exception {
         // Arrange
         AnswerUpdateDto updateDto = new AnswerUpdateDto();
@@ -98,12 +134,14 @@ class AnswerControllerTest {
 
         User author = new User(1L, "Test User", "test@user.com", "test.user", "password", null);
         Topic topic = new Topic();
+        topic.setId(1L);
         Answer existingAnswer = new Answer(10L, "Original message", topic, LocalDateTime.now(), author, false);
 
         when(answerRepository.findById(10L)).thenReturn(Optional.of(existingAnswer));
 
         // Act & Assert
         mockMvc.perform(put("/answers/10")
+                        .with(user(author))
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateDto)))
@@ -0,0 +1,151 @@
+package com.rafaellor.forumhub.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaellor.forumhub.dto.AnswerCreateDto;
+import com.rafaellor.forumhub.dto.AnswerIngestionStatusDto;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.AnswerRepository;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.AnswerIngestionService;
+import com.rafaellor.forumhub.service.AnswerIngestionService.TrackedStatus;
+import com.rafaellor.forumhub.service.OutboxService;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.TokenService;
+import com.rafaellor.forumhub.service.TopicActivityService;
+import com.rafaellor.forumhub.service.TopicEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {AnswerController.class, AnswerIngestionController.class},
+        properties = "api.answers.ingestion.enabled=true")
+class AnswerIngestionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private AnswerIngestionService answerIngestionService;
+
+    @MockitoBean
+    private AnswerRepository answerRepository;
+
+    @MockitoBean
+    private TopicRepository topicRepository;
+
+    @MockitoBean
+    private TopicActivityService topicActivityService;
+
+    @MockitoBean
+    private TopicEventBus topicEventBus;
+
+    @MockitoBean
+    private OutboxService outboxService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private PrincipalCacheService principalCacheService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    private final User author = new User(1L, "Test User", "test@user.com", "test.user", "password", null);
+
+    @TestConfiguration
+    static class ControllerTestConfig {
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private String answer() throws Exception {
+        AnswerCreateDto createDto = new AnswerCreateDto();
+        createDto.setMessage("Queued answer");
+        createDto.setTopicId(1L);
+        return objectMapper.writeValueAsString(createDto);
+    }
+
+    @Test
+    @DisplayName("Should queue the answer when respond-async comes with other preferences")
+    void submitAnswer_withSeveralPreferences_shouldReturn202() throws Exception {
+        // Arrange
+        UUID trackingId = UUID.randomUUID();
+        when(answerIngestionService.submit(eq(1L), any(User.class), eq("Queued answer")))
+                .thenReturn(AnswerIngestionStatusDto.queued(trackingId));
+
+        // Act & Assert
+        mockMvc.perform(post("/answers")
+                        .with(user(author))
+                        .with(csrf())
+                        .header("Prefer", "respond-async, wait=5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answer()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.trackingId").value(trackingId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should answer synchronously when the Prefer header does not ask for respond-async")
+    void submitAnswer_withOtherPreference_shouldStaySynchronous() throws Exception {
+        // Arrange
+        when(topicRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(post("/answers")
+                        .with(user(author))
+                        .with(csrf())
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(answer()))
+                .andExpect(status().isNotFound());
+        verify(answerIngestionService, never()).submit(anyLong(), any(User.class), anyString());
+    }
+
+    @Test
+    @DisplayName("Should return 403 Forbidden when the status of another user's answer is requested")
+    void getIngestionStatus_ofAnotherUser_shouldReturn403() throws Exception {
+        // Arrange
+        UUID trackingId = UUID.randomUUID();
+        User otherUser = new User(2L, "Other User", "other@user.com", "other.user", "password", null);
+        when(answerIngestionService.getStatus(trackingId))
+                .thenReturn(Optional.of(new TrackedStatus(author.getId(), AnswerIngestionStatusDto.created(trackingId, 10L))));
+
+        // Act & Assert
+        mockMvc.perform(get("/answers/ingestion/{trackingId}", trackingId).with(user(otherUser)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/answers/ingestion/{trackingId}", trackingId).with(user(author)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.answerId").value(10L));
+    }
+}
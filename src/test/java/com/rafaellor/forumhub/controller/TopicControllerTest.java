@@ -1,32 +1,57 @@
 package com.rafaellor.forumhub.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
+import com.rafaellor.forumhub.dto.KeysetCursor;
 import com.rafaellor.forumhub.dto.TopicCreateDto;
-import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.dto.TopicVersionDto;
 import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.OutboxEventType;
 import com.rafaellor.forumhub.model.Topic;
 import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.AnswerRepository;
 import com.rafaellor.forumhub.repository.CourseRepository;
 import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.OutboxService;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.SearchIndexService;
+import com.rafaellor.forumhub.service.TokenService;
+import com.rafaellor.forumhub.service.TopicActivityService;
+import com.rafaellor.forumhub.service.TopicCacheService;
+import com.rafaellor.forumhub.service.TopicEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,28 +64,58 @@ class TopicControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
+    @MockitoBean
     private TopicRepository topicRepository;
 
-    @Autowired
+    @MockitoBean
     private CourseRepository courseRepository;
 
+    @MockitoBean
+    private AnswerRepository answerRepository;
+
+    @MockitoBean
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TopicEventBus topicEventBus;
+
+    @MockitoBean
+    private OutboxService outboxService;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private PrincipalCacheService principalCacheService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
     @TestConfiguration
     static class ControllerTestConfig {
         @Bean
-        public TopicRepository topicRepository() {
-            return Mockito.mock(TopicRepository.class);
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
 
         @Bean
-        public CourseRepository courseRepository() {
-            return Mockito.mock(CourseRepository.class);
+        public TopicCacheService topicCacheService() {
+            return new TopicCacheService();
+        }
+
+        @Bean
+        public TopicActivityService topicActivityService() {
+            return new TopicActivityService();
+        }
+
+        @Bean
+        public TopicEventBus topicEventBus() {
+            return new TopicEventBus();
         }
     }
 
     @Test
     @DisplayName("Should return 201 Created when creating a valid topic")
-    @WithMockUser(username = "test.user")
     void createTopic_withValidData_shouldReturn201() throws Exception {
         // Arrange
         TopicCreateDto createDto = new TopicCreateDto();
@@ -73,13 +128,13 @@ class TopicControllerTest {
         Topic savedTopic = new Topic("Valid Title", "A valid message for the topic.", author, course);
         savedTopic.setId(10L);
 
-        when(topicRepository.existsByTitle(anyString())).thenReturn(false);
-        when(topicRepository.existsByMessage(anyString())).thenReturn(false);
+        when(topicRepository.existsByTitleOrMessageHash(anyString(), anyString())).thenReturn(false);
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
         when(topicRepository.save(any(Topic.class))).thenReturn(savedTopic);
 
         // Act & Assert
         mockMvc.perform(post("/topics")
+                        .with(user(author))
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createDto)))
@@ -88,22 +143,24 @@ class TopicControllerTest {
                 .andExpect(jsonPath("$.title").value(createDto.getTitle()))
                 .andExpect(jsonPath("$.authorUsername").value(author.getUsername()))
                 .andExpect(jsonPath("$.courseName").value(course.getName()));
+        verify(outboxService).record(eq(OutboxEventType.TOPIC_CREATED), eq(10L), isNull(), any(TopicResponseDto.class));
     }
 
     @Test
     @DisplayName("Should return 409 Conflict when creating a topic with a duplicate title")
-    @WithMockUser(username = "test.user")
     void createTopic_withDuplicateTitle_shouldReturn409() throws Exception {
         // Arrange
         TopicCreateDto createDto = new TopicCreateDto();
         createDto.setTitle("Duplicate Title");
         createDto.setMessage("Some message.");
         createDto.setCourseId(1L);
+        User author = new User(1L, "Test User", "test@user.com", "test.user", "password", null);
 
-        when(topicRepository.existsByTitle("Duplicate Title")).thenReturn(true);
+        when(topicRepository.existsByTitleOrMessageHash(eq("Duplicate Title"), anyString())).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(post("/topics")
+                        .with(user(author))
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createDto)))
@@ -115,17 +172,211 @@ class TopicControllerTest {
     @WithMockUser
     void getAllTopics_shouldReturnTopicList() throws Exception {
         // Arrange
-        User author = new User(1L, "author", "author@email.com", "author", "pass", null);
-        Course course = new Course(1L, "Java", "Programming");
-        Topic topic = new Topic(10L, "Topic Title", "Topic Message", LocalDateTime.now(), true, author, course, null);
+        TopicResponseDto topic = new TopicResponseDto(10L, "Topic Title", "Topic Message", LocalDateTime.now(), true, "author", "Java", 0, null, null, 0L, LocalDateTime.now());
 
-        when(topicRepository.findAll()).thenReturn(List.of(topic));
+        when(topicRepository.findAllResponses(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(topic)));
 
         // Act & Assert
         mockMvc.perform(get("/topics"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(1))
-                .andExpect(jsonPath("$[0].title").value("Topic Title"));
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Topic Title"))
+                .andExpect(jsonPath("$.content[0].authorUsername").value("author"));
+    }
+
+    @Test
+    @DisplayName("Should pass the course, status and author filters to the repository")
+    @WithMockUser
+    void getAllTopics_withFilters_shouldQueryFiltered() throws Exception {
+        // Arrange
+        TopicResponseDto topic = new TopicResponseDto(10L, "Closed Topic", "Topic Message", LocalDateTime.now(), false, "author", "Java", 1, null, 5L, 0L, LocalDateTime.now());
+
+        when(topicRepository.findResponsesFiltered(eq(1L), eq(false), eq(2L), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(topic)));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics").param("courseId", "1").param("status", "closed").param("authorId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Closed Topic"));
+        verify(topicRepository, never()).findAllResponses(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request for an unknown status filter")
+    @WithMockUser
+    void getAllTopics_withUnknownStatus_shouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/topics").param("status", "archived"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 200 OK with the ranked search results")
+    @WithMockUser
+    void searchTopics_shouldReturnRankedPage() throws Exception {
+        // Arrange
+        TopicResponseDto topic = new TopicResponseDto(10L, "Lucene tips", "Topic Message", LocalDateTime.now(), true, "author", "Java", 2, null, null, 0L, LocalDateTime.now());
+
+        when(searchIndexService.search(eq("lucene"), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(topic)));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/search").param("q", "lucene"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("Lucene tips"));
+    }
+
+    @Test
+    @DisplayName("Should return a cursor to the next page when more topics remain")
+    @WithMockUser
+    void scrollTopics_withMoreRows_shouldReturnNextCursor() throws Exception {
+        // Arrange: size + 1 rows means another page exists
+        LocalDateTime createdAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+        TopicResponseDto newest = new TopicResponseDto(12L, "Newest", "Message", createdAt, true, "author", "Java", 0, null, null, 0L, createdAt);
+        TopicResponseDto tied = new TopicResponseDto(11L, "Same time", "Message", createdAt, true, "author", "Java", 0, null, null, 0L, createdAt);
+        TopicResponseDto extra = new TopicResponseDto(10L, "Next page", "Message", createdAt, true, "author", "Java", 0, null, null, 0L, createdAt);
+        when(topicRepository.findNewestResponses(any(Pageable.class))).thenReturn(List.of(newest, tied, extra));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/scroll").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[1].id").value(11))
+                .andExpect(jsonPath("$.nextCursor").value(new KeysetCursor(createdAt, 11L).encode()));
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor and return no next cursor on the last page")
+    @WithMockUser
+    void scrollTopics_onLastPage_shouldReturnNullCursor() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+        TopicResponseDto last = new TopicResponseDto(10L, "Last", "Message", createdAt, true, "author", "Java", 0, null, null, 0L, createdAt);
+        when(topicRepository.findResponsesBefore(eq(createdAt), eq(11L), any(Pageable.class))).thenReturn(List.of(last));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/scroll").param("size", "2").param("cursor", new KeysetCursor(createdAt, 11L).encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request for a cursor that cannot be decoded")
+    @WithMockUser
+    void scrollTopics_withInvalidCursor_shouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/topics/scroll").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 404 Not Found when scrolling the answers of a deleted topic with a cursor")
+    @WithMockUser
+    void scrollAnswersForTopic_withCursorOnMissingTopic_shouldReturn404() throws Exception {
+        // Arrange
+        when(topicRepository.existsById(99L)).thenReturn(false);
+        String cursor = new KeysetCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 5L).encode();
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/{topicId}/answers/scroll", 99L).param("cursor", cursor))
+                .andExpect(status().isNotFound());
+        verify(answerRepository, never()).findByTopicIdBefore(eq(99L), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should return the answers after the cursor for an existing topic")
+    @WithMockUser
+    void scrollAnswersForTopic_withCursor_shouldSeek() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+        AnswerResponseDto answer = new AnswerResponseDto(4L, "Older answer", createdAt, "answer.author", false);
+        when(topicRepository.existsById(1L)).thenReturn(true);
+        when(answerRepository.findByTopicIdBefore(eq(1L), eq(createdAt), eq(5L), any(Pageable.class))).thenReturn(List.of(answer));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/{topicId}/answers/scroll", 1L).param("cursor", new KeysetCursor(createdAt, 5L).encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(4))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads of a topic from the cache")
+    @WithMockUser
+    void getTopicById_calledTwice_shouldQueryOnce() throws Exception {
+        // Arrange
+        Long topicId = 42L;
+        TopicResponseDto topic = new TopicResponseDto(topicId, "Cached Title", "Cached message", LocalDateTime.now(), true, "author", "Java", 0, null, null, 0L, LocalDateTime.now());
+        when(topicRepository.findResponseById(topicId)).thenReturn(Optional.of(topic));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/{id}", topicId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached Title"));
+        mockMvc.perform(get("/topics/{id}", topicId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached Title"));
+
+        verify(topicRepository, times(1)).findResponseById(topicId);
+    }
+
+    @Test
+    @DisplayName("Should return 304 Not Modified when the topic ETag still matches")
+    @WithMockUser
+    void getTopicById_withMatchingETag_shouldReturn304() throws Exception {
+        // Arrange
+        Long topicId = 43L;
+        TopicResponseDto topic = new TopicResponseDto(topicId, "Title", "Message", LocalDateTime.now(), true, "author", "Java", 0, null, null, 3L, LocalDateTime.now());
+        when(topicRepository.findResponseById(topicId)).thenReturn(Optional.of(topic));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/{id}", topicId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"43-3\""))
+                .andExpect(header().exists("Last-Modified"));
+        mockMvc.perform(get("/topics/{id}", topicId).header("If-None-Match", "\"43-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should return the bumped version as the ETag after updating a topic")
+    @WithMockUser(username = "test.user")
+    void updateTopic_shouldReturnBumpedVersion() throws Exception {
+        // Arrange
+        TopicCreateDto updateDto = new TopicCreateDto();
+        updateDto.setTitle("Updated Title");
+        updateDto.setMessage("An updated message for the topic.");
+        updateDto.setCourseId(1L);
+
+        User author = new User(1L, "Test User", "test@user.com", "test.user", "password", null);
+        Course course = new Course(1L, "Spring Boot", "Backend");
+        Topic topic = new Topic("Old Title", "The old message.", author, course);
+        topic.setId(10L);
+        LocalDateTime touchedAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        when(topicRepository.findById(10L)).thenReturn(Optional.of(topic));
+        when(topicRepository.existsOtherByTitleOrMessageHash(eq(10L), anyString(), anyString())).thenReturn(false);
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(topicRepository.findVersionById(10L)).thenReturn(Optional.of(new TopicVersionDto(1L, touchedAt)));
+
+        // Act
+        MvcResult result = mockMvc.perform(put("/topics/{id}", 10L)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated Title"))
+                .andExpect(header().string("ETag", "\"10-1\""))
+                .andReturn();
+
+        // Assert: the outbox snapshot carries the same version as the response
+        verify(topicRepository).touch(eq(10L), any(LocalDateTime.class));
+        ArgumentCaptor<TopicResponseDto> snapshot = ArgumentCaptor.forClass(TopicResponseDto.class);
+        verify(outboxService).record(eq(OutboxEventType.TOPIC_UPDATED), eq(10L), isNull(), snapshot.capture());
+        assertThat(snapshot.getValue().getVersion()).isEqualTo(1L);
+        assertThat(snapshot.getValue().getLastModified()).isEqualTo(touchedAt);
+        assertThat(result.getResponse().getDateHeader("Last-Modified")).isPositive();
     }
 
     @Test
@@ -151,24 +402,101 @@ class TopicControllerTest {
     void getAnswersForTopic_withValidTopicId_shouldReturnAnswersList() throws Exception {
         // Arrange
         Long topicId = 1L;
-        User topicAuthor = new User(1L, "topic.author", "topic@author.com", "topic.author", "pass", null);
-        User answerAuthor = new User(2L, "answer.author", "answer@author.com", "answer.author", "pass", null);
-        Course course = new Course(1L, "Testing", "QA");
-        Topic topic = new Topic(topicId, "Topic with answers", "message", LocalDateTime.now(), true, topicAuthor, course, null);
+        AnswerResponseDto answer1 = new AnswerResponseDto(10L, "First answer", LocalDateTime.now().minusHours(1), "answer.author", false);
+        AnswerResponseDto answer2 = new AnswerResponseDto(11L, "Second answer", LocalDateTime.now(), "answer.author", false);
 
-        Answer answer1 = new Answer(10L, "First answer", topic, LocalDateTime.now().minusHours(1), answerAuthor, false);
-        Answer answer2 = new Answer(11L, "Second answer", topic, LocalDateTime.now(), answerAuthor, false);
-        topic.setAnswers(List.of(answer1, answer2));
+        when(topicRepository.findVersionById(topicId)).thenReturn(Optional.of(new TopicVersionDto(0L, LocalDateTime.now())));
+        when(answerRepository.findPageByTopicId(eq(topicId), any(Pageable.class))).thenReturn(List.of(answer1, answer2));
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/{topicId}/answers", topicId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.size()").value(2))
+                .andExpect(jsonPath("$.content[0].message").value("First answer"))
+                .andExpect(jsonPath("$.content[1].message").value("Second answer"))
+                .andExpect(jsonPath("$.content[0].authorUsername").value("answer.author"));
+    }
 
-        when(topicRepository.existsById(topicId)).thenReturn(true);
-        when(topicRepository.findById(topicId)).thenReturn(Optional.of(topic));
+    @Test
+    @DisplayName("Should return 200 OK with an empty page for a topic without answers")
+    @WithMockUser
+    void getAnswersForTopic_withoutAnswers_shouldReturnEmptyPage() throws Exception {
+        // Arrange
+        Long topicId = 1L;
+        when(topicRepository.findVersionById(topicId)).thenReturn(Optional.of(new TopicVersionDto(0L, LocalDateTime.now())));
+        when(answerRepository.findPageByTopicId(eq(topicId), any(Pageable.class))).thenReturn(List.of());
 
         // Act & Assert
         mockMvc.perform(get("/topics/{topicId}/answers", topicId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(2))
-                .andExpect(jsonPath("$[0].message").value("First answer"))
-                .andExpect(jsonPath("$[1].message").value("Second answer"))
-                .andExpect(jsonPath("$[0].authorUsername").value("answer.author"));
+                .andExpect(jsonPath("$.content.size()").value(0))
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return 404 Not Found when listing answers of a missing topic")
+    @WithMockUser
+    void getAnswersForTopic_withMissingTopic_shouldReturn404() throws Exception {
+        // Arrange
+        when(topicRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/{topicId}/answers", 99L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should push answers published for the topic as Server-Sent Events")
+    @WithMockUser
+    void streamTopicEvents_shouldPushPublishedAnswers() throws Exception {
+        // Arrange
+        when(topicRepository.existsById(1L)).thenReturn(true);
+        MvcResult result = mockMvc.perform(get("/topics/1/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        AnswerResponseDto answer = new AnswerResponseDto(5L, "Live answer", LocalDateTime.now(), "author", false);
+
+        // Act
+        topicEventBus.publish(1L, "answer-created", 5L, answer);
+
+        // Assert: events are written by the subscriber's sender thread
+        String body = "";
+        for (int attempt = 0; attempt < 50 && !body.contains("Live answer"); attempt++) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertThat(body).contains("event:answer-created", "id:5", "\"message\":\"Live answer\"");
+    }
+
+    @Test
+    @DisplayName("Should return 404 Not Found when subscribing to the events of a missing topic")
+    @WithMockUser
+    void streamTopicEvents_withUnknownTopic_shouldReturn404() throws Exception {
+        // Arrange
+        when(topicRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/99/events"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 503 without a body when too many event streams are open")
+    @WithMockUser
+    void streamTopicEvents_withTooManySubscribers_shouldReturn503() throws Exception {
+        // Arrange
+        when(topicRepository.existsById(1L)).thenReturn(true);
+        Object maxSubscribers = ReflectionTestUtils.getField(topicEventBus, "maxSubscribers");
+        ReflectionTestUtils.setField(topicEventBus, "maxSubscribers", 0);
+
+        // Act & Assert
+        try {
+            mockMvc.perform(get("/topics/1/events").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(content().string(""));
+        } finally {
+            ReflectionTestUtils.setField(topicEventBus, "maxSubscribers", maxSubscribers);
+        }
     }
 }
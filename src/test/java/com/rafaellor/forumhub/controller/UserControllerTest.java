@@ -6,6 +6,10 @@ import com.rafaellor.forumhub.model.Profile;
 import com.rafaellor.forumhub.model.User;
 import com.rafaellor.forumhub.repository.ProfileRepository;
 import com.rafaellor.forumhub.repository.UserRepository;
+import com.rafaellor.forumhub.service.PrincipalCacheService;
+import com.rafaellor.forumhub.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,12 +19,18 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -35,35 +45,35 @@ class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
-    @Autowired
+    @MockitoBean
     private UserRepository userRepository;
 
-    @Autowired
+    @MockitoBean
     private ProfileRepository profileRepository;
 
-    @Autowired
+    @MockitoBean
     private PasswordEncoder passwordEncoder;
 
-    @TestConfiguration
-    static class ControllerTestConfig {
-        @Bean
-        public UserRepository userRepository() {
-            return Mockito.mock(UserRepository.class);
-        }
+    @MockitoBean
+    private TokenService tokenService;
 
-        @Bean
-        public ProfileRepository profileRepository() {
-            return Mockito.mock(ProfileRepository.class);
-        }
+    @MockitoBean
+    private PrincipalCacheService principalCacheService;
 
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class ControllerTestConfig {
         @Bean
-        public PasswordEncoder passwordEncoder() {
-            return Mockito.mock(PasswordEncoder.class);
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
         }
     }
 
     @Test
     @DisplayName("Should return 201 Created for a valid user registration")
+    @WithMockUser
     void registerUser_withValidData_shouldReturnCreated() throws Exception {
         // Arrange
         UserCreateDto createDto = new UserCreateDto();
@@ -78,7 +88,14 @@ class UserControllerTest {
 
         Profile defaultProfile = new Profile(1L, "ROLE_USER");
         when(profileRepository.findByName("ROLE_USER")).thenReturn(Optional.of(defaultProfile));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String requestThread = Thread.currentThread().getName();
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            // The save must run on the request thread, inside its transaction, not on the hashing pool
+            if (!requestThread.equals(Thread.currentThread().getName())) {
+                throw new IllegalStateException("Saved on " + Thread.currentThread().getName());
+            }
+            return invocation.getArgument(0);
+        });
 
         // Act & Assert
         mockMvc.perform(post("/register")
@@ -86,10 +103,14 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createDto)))
                 .andExpect(status().isCreated());
+
+        verify(userRepository).save(argThat(user -> "testuser".equals(user.getUsername())
+                && "hashedpassword".equals(user.getPassword())));
     }
 
     @Test
     @DisplayName("Should return 409 Conflict if username already exists")
+    @WithMockUser
     void registerUser_withDuplicateUsername_shouldReturnConflict() throws Exception {
         // Arrange
         UserCreateDto createDto = new UserCreateDto();
@@ -106,5 +127,7 @@ class UserControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createDto)))
                 .andExpect(status().isConflict());
+
+        verify(userRepository, never()).save(argThat(user -> "existinguser".equals(user.getUsername())));
     }
 }
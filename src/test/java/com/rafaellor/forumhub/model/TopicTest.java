@@ -89,4 +89,20 @@ class TopicTest {
         // Assert
         assertFalse(topic.getStatus(), "Topic status should be false after closing");
     }
+
+    @Test
+    @DisplayName("Should keep the message hash in sync with the normalized message")
+    void update_shouldRefreshMessageHash() {
+        // Arrange
+        Topic topic = new Topic("Title", "Original Message", author, course);
+        String originalHash = topic.getMessageHash();
+
+        // Act
+        topic.update(null, "A  brand new MESSAGE ", null);
+
+        // Assert
+        assertNotEquals(originalHash, topic.getMessageHash());
+        assertEquals(Topic.hashMessage("a brand new message"), topic.getMessageHash(), "Hash should ignore case and extra spacing");
+        assertEquals(64, topic.getMessageHash().length());
+    }
 }
@@ -0,0 +1,147 @@
+package com.rafaellor.forumhub.repository;
+
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("dev")
+class AnswerRepositoryTest {
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        author = new User(null, "Answer Author", "answers@test.com", "answersauthor", "password", null);
+        em.persist(author);
+        course = new Course(null, "Answers", "Persistence");
+        em.persist(course);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    @DisplayName("Should load a page of answers with their authors in a single select")
+    void findPageByTopicId_shouldNotIssueQueriesPerAnswer() {
+        // Arrange: every answer has its own author, so lazy loading would add a query per row
+        Topic topic = new Topic("Answered topic", "Topic with several answers", author, course);
+        em.persist(topic);
+        for (int i = 1; i <= 3; i++) {
+            User answerAuthor = new User(null, "Replier " + i, "replier" + i + "@test.com", "replier" + i, "password", null);
+            em.persist(answerAuthor);
+            em.persist(new Answer(null, "Answer " + i, topic, LocalDateTime.of(2030, 1, 1, 10, i), answerAuthor, false));
+        }
+        em.flush();
+        em.clear();
+        Statistics statistics = statistics();
+
+        // Act
+        List<AnswerResponseDto> page = answerRepository.findPageByTopicId(topic.getId(),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "creationDate")));
+
+        // Assert
+        assertThat(page).extracting(AnswerResponseDto::getMessage).containsExactly("Answer 3", "Answer 2");
+        assertThat(page).extracting(AnswerResponseDto::getAuthorUsername).containsExactly("replier3", "replier2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return no rows for a topic without answers and for a missing topic")
+    void findPageByTopicId_withoutAnswers_shouldReturnEmpty() {
+        // Arrange
+        Topic topic = new Topic("Quiet topic", "Nobody answered yet", author, course);
+        em.persist(topic);
+        em.flush();
+        PageRequest page = PageRequest.of(0, 20);
+
+        // Act
+        List<AnswerResponseDto> withoutAnswers = answerRepository.findPageByTopicId(topic.getId(), page);
+        List<AnswerResponseDto> missingTopic = answerRepository.findPageByTopicId(Long.MAX_VALUE, page);
+
+        // Assert
+        assertThat(withoutAnswers).isEmpty();
+        assertThat(missingTopic).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page a topic's answers by (creation date, id) and end with an empty window")
+    void keysetPagination_shouldBreakTiesById() {
+        // Arrange
+        Topic topic = new Topic("Scrolled topic", "Topic scrolled by keyset", author, course);
+        em.persist(topic);
+        LocalDateTime tied = LocalDateTime.of(2030, 1, 1, 12, 0);
+        Answer first = new Answer(null, "Tied first", topic, tied, author, false);
+        Answer second = new Answer(null, "Tied second", topic, tied, author, false);
+        Answer older = new Answer(null, "Older", topic, tied.minusMinutes(5), author, false);
+        em.persist(first);
+        em.persist(second);
+        em.persist(older);
+        em.flush();
+
+        // Act
+        List<AnswerResponseDto> firstPage = answerRepository.findNewestByTopicId(topic.getId(), PageRequest.ofSize(2));
+        List<AnswerResponseDto> secondPage = answerRepository.findByTopicIdBefore(topic.getId(),
+                firstPage.getLast().getCreationDate(), firstPage.getLast().getId(), PageRequest.ofSize(2));
+        List<AnswerResponseDto> afterLast = answerRepository.findByTopicIdBefore(topic.getId(),
+                older.getCreationDate(), older.getId(), PageRequest.ofSize(2));
+
+        // Assert
+        assertThat(firstPage).extracting(AnswerResponseDto::getId).containsExactly(second.getId(), first.getId());
+        assertThat(secondPage).extracting(AnswerResponseDto::getId).containsExactly(older.getId());
+        assertThat(afterLast).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should insert answers in JDBC batches instead of one statement per row")
+    void saveAll_shouldBatchInserts() {
+        // Arrange
+        Topic topic = new Topic("Batched topic", "Topic receiving many answers", author, course);
+        em.persist(topic);
+        em.flush();
+        List<Answer> answers = IntStream.range(0, 120).mapToObj(i -> new Answer("Batched answer " + i, topic, author)).toList();
+        Statistics statistics = statistics();
+
+        // Act
+        answerRepository.saveAll(answers);
+        em.flush();
+
+        // Assert: 120 inserts go out as 3 batches, plus a few id block allocations
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        assertThat(answerRepository.countByTopicId(topic.getId())).isEqualTo(120);
+    }
+}
@@ -0,0 +1,197 @@
+package com.rafaellor.forumhub.repository;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository queries behind the listing endpoints, explains the SQL Hibernate generated for
+ * them and checks that the composite indexes from the Flyway migrations are picked, including for the
+ * ORDER BY.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.rafaellor.forumhub.repository.IndexUsageTest$CapturedSql")
+@ActiveProfiles("dev")
+class IndexUsageTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // MySQL drops its implicit foreign key indexes on topics.course_id, topics.author_id and answers.topic_id once
+    // the V3/V8 indexes can back the constraints; H2 keeps them and always prefers the narrower index, so the
+    // plans are checked without them
+    @BeforeEach
+    void dropSingleColumnForeignKeyIndexes() {
+        jdbcTemplate.execute("ALTER TABLE topics DROP CONSTRAINT fk_topics_course_id");
+        jdbcTemplate.execute("ALTER TABLE topics DROP CONSTRAINT fk_topics_author_id");
+        jdbcTemplate.execute("ALTER TABLE answers DROP CONSTRAINT fk_answers_topic_id");
+    }
+
+    @AfterEach
+    void restoreForeignKeys() {
+        jdbcTemplate.execute("ALTER TABLE topics ADD CONSTRAINT fk_topics_course_id FOREIGN KEY (course_id) REFERENCES courses(id)");
+        jdbcTemplate.execute("ALTER TABLE topics ADD CONSTRAINT fk_topics_author_id FOREIGN KEY (author_id) REFERENCES users(id)");
+        jdbcTemplate.execute("ALTER TABLE answers ADD CONSTRAINT fk_answers_topic_id FOREIGN KEY (topic_id) REFERENCES topics(id)");
+    }
+
+    // Runs a repository query, then explains the SQL it generated with the given values bound in order
+    private String explainGenerated(Runnable query, Object... values) {
+        CapturedSql.STATEMENTS.clear();
+        query.run();
+        String sql = CapturedSql.STATEMENTS.stream()
+                .filter(statement -> !statement.toLowerCase().contains("count("))
+                .findFirst()
+                .orElseThrow();
+        return explain(sql, List.of(values));
+    }
+
+    // Runs the repository method as GET /topics does with filters, then explains the SQL generated for the page
+    private String explainFiltered(Long courseId, Boolean status, Long authorId) {
+        String plan = explainGenerated(() -> topicRepository.findResponsesFiltered(courseId, status, authorId,
+                        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationDate"))),
+                Stream.<Object>of(courseId, status, authorId).filter(Objects::nonNull).toArray());
+        assertThat(CapturedSql.STATEMENTS.getFirst().toLowerCase()).doesNotContain("is null");
+        return plan;
+    }
+
+    private String explain(String sql, List<Object> values) {
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 0; i < parameters; i++) {
+                    // The query values come first, then the page limit
+                    statement.setObject(i + 1, i < values.size() ? values.get(i) : 10);
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1).toUpperCase();
+                }
+            }
+        });
+    }
+
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    @DisplayName("Should list topics newest first straight from the creation date index")
+    void topicListing_shouldUseCreationDateIndex() {
+        // Act
+        String plan = explainGenerated(() -> topicRepository.findNewestResponses(PageRequest.ofSize(10)));
+
+        // Assert
+        assertThat(plan).contains("IDX_TOPICS_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should page topics by creation date from the creation date index")
+    void topicPage_shouldUseCreationDateIndex() {
+        // Act
+        String plan = explainGenerated(() -> topicRepository.findAllResponses(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationDate"))));
+
+        // Assert
+        assertThat(plan).contains("IDX_TOPICS_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should list a topic's answers newest first from the topic/creation date index")
+    void answerListing_shouldUseTopicCreationDateIndex() {
+        // Act
+        String plan = explainGenerated(() -> answerRepository.findNewestByTopicId(1L, PageRequest.ofSize(20)), 1L);
+
+        // Assert
+        assertThat(plan).contains("IDX_ANSWERS_TOPIC_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should seek the next keyset page of answers on the same index")
+    void answerKeysetSeek_shouldUseTopicCreationDateIndex() {
+        // Arrange
+        LocalDateTime seek = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // Act
+        String plan = explainGenerated(() -> answerRepository.findByTopicIdBefore(1L, seek, 100L, PageRequest.ofSize(20)),
+                1L, seek, seek, 100L);
+
+        // Assert
+        assertThat(plan).contains("IDX_ANSWERS_TOPIC_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should list a course's topics newest first from the course/creation date index")
+    void topicCourseFilter_shouldUseCourseCreationDateIndex() {
+        // Act
+        String plan = explainFiltered(1L, null, null);
+
+        // Assert
+        assertThat(plan).contains("IDX_TOPICS_COURSE_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should list topics by status newest first from the status/creation date index")
+    void topicStatusFilter_shouldUseStatusCreationDateIndex() {
+        // Act
+        String plan = explainFiltered(null, true, null);
+
+        // Assert
+        assertThat(plan).contains("IDX_TOPICS_STATUS_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should list an author's topics newest first from the author/creation date index")
+    void topicAuthorFilter_shouldUseAuthorCreationDateIndex() {
+        // Act
+        String plan = explainFiltered(null, null, 1L);
+
+        // Assert
+        assertThat(plan).contains("IDX_TOPICS_AUTHOR_CREATION_DATE_ID");
+    }
+
+    @Test
+    @DisplayName("Should range scan one of the filter indexes when course, status and author are combined")
+    void topicCombinedFilters_shouldUseFilterIndex() {
+        // Act
+        String plan = explainFiltered(1L, false, 1L);
+
+        // Assert
+        assertThat(plan).containsAnyOf("IDX_TOPICS_COURSE_CREATION_DATE_ID", "IDX_TOPICS_AUTHOR_CREATION_DATE_ID");
+    }
+}
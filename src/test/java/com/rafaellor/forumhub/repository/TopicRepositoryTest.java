@@ -1,18 +1,30 @@
 package com.rafaellor.forumhub.repository;
 
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.dto.TopicVersionDto;
+import com.rafaellor.forumhub.model.Answer;
 import com.rafaellor.forumhub.model.Course;
 import com.rafaellor.forumhub.model.Topic;
 import com.rafaellor.forumhub.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("dev")
 class TopicRepositoryTest {
 
@@ -22,6 +34,9 @@ class TopicRepositoryTest {
     @Autowired
     private TestEntityManager em;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @DisplayName("Should return true when a topic with the given title exists")
     void existsByTitle_shouldReturnTrue_whenTitleExists() {
@@ -51,8 +66,8 @@ class TopicRepositoryTest {
     }
 
     @Test
-    @DisplayName("Should return true when a topic with the given message exists")
-    void existsByMessage_shouldReturnTrue_whenMessageExists() {
+    @DisplayName("Should detect a duplicate message through its hash, ignoring case and spacing")
+    void existsByTitleOrMessageHash_shouldReturnTrue_whenNormalizedMessageExists() {
         // Arrange
         User author = new User(null, "Another Author", "another@test.com", "anotherauthor", "password", null);
         em.persist(author);
@@ -62,9 +77,185 @@ class TopicRepositoryTest {
         em.persist(topic);
 
         // Act
-        boolean exists = topicRepository.existsByMessage("Unique Message");
+        boolean exists = topicRepository.existsByTitleOrMessageHash("Different Title", Topic.hashMessage("  unique   MESSAGE "));
 
         // Assert
         assertThat(exists).isTrue();
     }
+
+    @Test
+    @DisplayName("Should ignore the topic itself when checking duplicates on update")
+    void existsOtherByTitleOrMessageHash_shouldIgnoreSameTopic() {
+        // Arrange
+        User author = new User(null, "Third Author", "third@test.com", "thirdauthor", "password", null);
+        em.persist(author);
+        Course course = new Course(null, "JPA", "Persistence");
+        em.persist(course);
+        Topic topic = new Topic("Own Title", "Own Message", author, course);
+        em.persist(topic);
+
+        // Act
+        boolean exists = topicRepository.existsOtherByTitleOrMessageHash(topic.getId(), "Own Title", Topic.hashMessage("Own Message"));
+
+        // Assert
+        assertThat(exists).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should bump the version and last modified date when a topic is touched")
+    void touch_shouldIncrementVersion() {
+        // Arrange
+        User author = new User(null, "Touch Author", "touch@test.com", "touchauthor", "password", null);
+        em.persist(author);
+        Course course = new Course(null, "JPA", "Persistence");
+        em.persist(course);
+        Topic topic = new Topic("Touched Title", "Touched message", author, course);
+        em.persist(topic);
+        LocalDateTime later = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+        // Act
+        int updated = topicRepository.touch(topic.getId(), later);
+        TopicVersionDto version = topicRepository.findVersionById(topic.getId()).orElseThrow();
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(version.getVersion()).isEqualTo(1L);
+        assertThat(version.getLastModified()).isEqualTo(later);
+    }
+
+    @Test
+    @DisplayName("Should keep answer count, last answer date and solution in step with answer changes")
+    void answerStatistics_shouldFollowAddMarkAndRemove() {
+        // Arrange
+        User author = new User(null, "Stats Author", "stats@test.com", "statsauthor", "password", null);
+        em.persist(author);
+        Course course = new Course(null, "Statistics", "Persistence");
+        em.persist(course);
+        Topic topic = new Topic("Stats Title", "Topic with answer statistics", author, course);
+        em.persist(topic);
+        Answer first = new Answer(null, "First answer", topic, LocalDateTime.of(2030, 1, 1, 10, 0), author, false);
+        Answer second = new Answer(null, "Second answer", topic, LocalDateTime.of(2030, 1, 1, 11, 0), author, true);
+        em.persist(first);
+        em.persist(second);
+        LocalDateTime now = LocalDateTime.of(2030, 1, 2, 0, 0);
+
+        // Act
+        topicRepository.addAnswers(topic.getId(), 1, first.getCreationDate(), now);
+        topicRepository.addAnswers(topic.getId(), 1, second.getCreationDate(), now);
+        topicRepository.markSolved(topic.getId(), second.getId(), now);
+        TopicResponseDto afterAdding = topicRepository.findResponseById(topic.getId()).orElseThrow();
+
+        em.remove(em.find(Answer.class, second.getId()));
+        topicRepository.removeAnswer(topic.getId(), second.getId(), now);
+        TopicResponseDto afterRemoving = topicRepository.findResponseById(topic.getId()).orElseThrow();
+
+        // Assert
+        assertThat(afterAdding.getAnswerCount()).isEqualTo(2);
+        assertThat(afterAdding.getLastAnswerAt()).isEqualTo(second.getCreationDate());
+        assertThat(afterAdding.getSolvedAnswerId()).isEqualTo(second.getId());
+        assertThat(afterAdding.getVersion()).isEqualTo(3L);
+
+        assertThat(afterRemoving.getAnswerCount()).isEqualTo(1);
+        assertThat(afterRemoving.getLastAnswerAt()).isEqualTo(first.getCreationDate());
+        assertThat(afterRemoving.getSolvedAnswerId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should load a page of topics with authors and courses in one select plus one count")
+    void findAllResponses_shouldNotIssueQueriesPerTopic() {
+        // Arrange: every topic has its own author and course, so lazy loading would add two queries per row
+        for (int i = 1; i <= 3; i++) {
+            User author = new User(null, "Author " + i, "author" + i + "@test.com", "author" + i, "password", null);
+            em.persist(author);
+            Course course = new Course(null, "Course " + i, "Category");
+            em.persist(course);
+            em.persist(new Topic("Title " + i, "Message " + i, author, course));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act: a page smaller than the total forces Spring Data to run the count query as well
+        Page<TopicResponseDto> page = topicRepository.findAllResponses(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "creationDate")));
+
+        // Assert
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).allSatisfy(topic -> {
+            assertThat(topic.getAuthorUsername()).isNotNull();
+            assertThat(topic.getCourseName()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should apply only the filters that are set when listing topics")
+    void findResponsesFiltered_shouldCombineSetFilters() {
+        // Arrange
+        User author = new User(null, "Filter Author", "filter@test.com", "filterauthor", "password", null);
+        em.persist(author);
+        User otherAuthor = new User(null, "Other Author", "other@test.com", "otherauthor", "password", null);
+        em.persist(otherAuthor);
+        Course course = new Course(null, "Filters", "Backend");
+        em.persist(course);
+        Course otherCourse = new Course(null, "Other Filters", "Frontend");
+        em.persist(otherCourse);
+        Topic open = new Topic("Open topic", "Still waiting for answers", author, course);
+        em.persist(open);
+        Topic closed = new Topic("Closed topic", "Already solved", author, course);
+        closed.close();
+        em.persist(closed);
+        em.persist(new Topic("Other course topic", "Different course", author, otherCourse));
+        em.persist(new Topic("Other author topic", "Different author", otherAuthor, course));
+        em.flush();
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "creationDate"));
+
+        // Act
+        Page<TopicResponseDto> byCourseAndAuthor = topicRepository.findResponsesFiltered(course.getId(), null, author.getId(), page);
+        Page<TopicResponseDto> openByAuthor = topicRepository.findResponsesFiltered(null, true, author.getId(), page);
+
+        // Assert
+        assertThat(byCourseAndAuthor.getTotalElements()).isEqualTo(2);
+        assertThat(byCourseAndAuthor.getContent()).extracting(TopicResponseDto::getTitle)
+                .containsExactlyInAnyOrder("Open topic", "Closed topic");
+        assertThat(openByAuthor.getContent()).extracting(TopicResponseDto::getTitle)
+                .containsExactlyInAnyOrder("Open topic", "Other course topic");
+    }
+
+    @Test
+    @DisplayName("Should page by (creation date, id) without skipping or repeating topics created at the same time")
+    void keysetPagination_shouldBreakTiesById() {
+        // Arrange: far in the future, so the seed topics sort after these
+        User author = new User(null, "Keyset Author", "keyset@test.com", "keysetauthor", "password", null);
+        em.persist(author);
+        Course course = new Course(null, "Keyset", "Persistence");
+        em.persist(course);
+        LocalDateTime tied = LocalDateTime.of(2099, 1, 1, 12, 0);
+        LocalDateTime older = tied.minusHours(1);
+        Topic first = keysetTopic("Tied first", tied, author, course);
+        Topic second = keysetTopic("Tied second", tied, author, course);
+        Topic third = keysetTopic("Tied third", tied, author, course);
+        Topic oldest = keysetTopic("Older", older, author, course);
+        em.flush();
+
+        // Act
+        List<TopicResponseDto> firstPage = topicRepository.findNewestResponses(PageRequest.ofSize(2));
+        TopicResponseDto lastOfFirstPage = firstPage.getLast();
+        List<TopicResponseDto> secondPage = topicRepository.findResponsesBefore(
+                lastOfFirstPage.getCreationDate(), lastOfFirstPage.getId(), PageRequest.ofSize(2));
+
+        // Assert
+        assertThat(firstPage).extracting(TopicResponseDto::getId).containsExactly(third.getId(), second.getId());
+        assertThat(secondPage).extracting(TopicResponseDto::getId).containsExactly(first.getId(), oldest.getId());
+    }
+
+    private Topic keysetTopic(String title, LocalDateTime creationDate, User author, Course course) {
+        Topic topic = new Topic(title, title + " message", author, course);
+        topic.setCreationDate(creationDate);
+        em.persist(topic);
+        return topic;
+    }
 }
@@ -0,0 +1,134 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.dto.AnswerIngestionStatusDto;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.AnswerRepository;
+import com.rafaellor.forumhub.repository.CourseRepository;
+import com.rafaellor.forumhub.repository.OutboxRepository;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "api.answers.ingestion.enabled=true")
+@ActiveProfiles("dev")
+@Import({AnswerIngestionService.class, TopicActivityService.class, TopicCacheService.class, OutboxService.class,
+        TopicEventBus.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnswerIngestionServiceTest {
+
+    @Autowired
+    private AnswerIngestionService answerIngestionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should write queued answers in batches and reject those for missing topics")
+    void submit_shouldWriteAnswersInBatches() throws InterruptedException {
+        // Arrange: committed outside of a test transaction, so the writer thread can see them
+        User author = userRepository.save(new User(null, "Ingestion Author", "ingestion@test.com", "ingestionauthor", "password", null));
+        Course course = courseRepository.save(new Course(null, "Ingestion", "Persistence"));
+        Topic topic = topicRepository.save(new Topic("Busy Topic", "Topic receiving a burst of answers", author, course));
+        // The writer and the meters are shared with the other tests of this class
+        DistributionSummary batchSizes = meterRegistry.get("forumhub.answers.ingestion.batch.size").summary();
+        long flushesBefore = batchSizes.count();
+        double answersBefore = batchSizes.totalAmount();
+        long outboxBefore = outboxRepository.count();
+
+        // Act
+        List<AnswerIngestionStatusDto> submitted = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            submitted.add(answerIngestionService.submit(topic.getId(), author, "Burst answer " + i));
+        }
+        AnswerIngestionStatusDto missingTopic = answerIngestionService.submit(Long.MAX_VALUE, author, "Lost answer");
+
+        // Assert
+        assertThat(submitted).allMatch(status -> status.getStatus() == AnswerIngestionStatusDto.Status.QUEUED);
+        List<AnswerIngestionStatusDto> results = new ArrayList<>();
+        for (AnswerIngestionStatusDto status : submitted) {
+            results.add(awaitResult(status));
+        }
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.getStatus()).isEqualTo(AnswerIngestionStatusDto.Status.CREATED);
+            assertThat(result.getAnswerId()).isNotNull();
+        });
+        AnswerIngestionStatusDto rejected = awaitResult(missingTopic);
+        assertThat(rejected.getStatus()).isEqualTo(AnswerIngestionStatusDto.Status.REJECTED);
+        assertThat(rejected.getError()).contains(String.valueOf(Long.MAX_VALUE));
+
+        assertThat(answerRepository.countByTopicId(topic.getId())).isEqualTo(30);
+        assertThat(topicRepository.findById(topic.getId()).orElseThrow().getAnswerCount()).isEqualTo(30);
+        assertThat(outboxRepository.count() - outboxBefore).isEqualTo(30);
+        // Fewer flushes than answers: the burst was grouped
+        assertThat(batchSizes.count() - flushesBefore).isLessThan(31);
+        assertThat(batchSizes.totalAmount() - answersBefore).isEqualTo(31.0);
+    }
+
+    @Test
+    @DisplayName("Should reject only the answer that breaks its batch and write the others")
+    void submit_withFailingAnswer_shouldRejectOnlyThatAnswer() throws InterruptedException {
+        // Arrange: an author that no longer exists fails the whole batch on its foreign key
+        User author = userRepository.save(new User(null, "Batch Author", "batch@test.com", "batchauthor", "password", null));
+        Course course = courseRepository.save(new Course(null, "Batches", "Persistence"));
+        Topic topic = topicRepository.save(new Topic("Mixed Topic", "Topic receiving a broken answer", author, course));
+        User deletedAuthor = new User(Long.MAX_VALUE, "Deleted Author", "deleted@test.com", "deletedauthor", "password", null);
+
+        // Act
+        AnswerIngestionStatusDto before = answerIngestionService.submit(topic.getId(), author, "Answer before");
+        AnswerIngestionStatusDto broken = answerIngestionService.submit(topic.getId(), deletedAuthor, "Broken answer");
+        AnswerIngestionStatusDto after = answerIngestionService.submit(topic.getId(), author, "Answer after");
+
+        // Assert
+        assertThat(awaitResult(before).getStatus()).isEqualTo(AnswerIngestionStatusDto.Status.CREATED);
+        assertThat(awaitResult(broken).getStatus()).isEqualTo(AnswerIngestionStatusDto.Status.REJECTED);
+        assertThat(awaitResult(after).getStatus()).isEqualTo(AnswerIngestionStatusDto.Status.CREATED);
+        assertThat(answerRepository.countByTopicId(topic.getId())).isEqualTo(2);
+        assertThat(topicRepository.findById(topic.getId()).orElseThrow().getAnswerCount()).isEqualTo(2);
+    }
+
+    private AnswerIngestionStatusDto awaitResult(AnswerIngestionStatusDto queued) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            AnswerIngestionStatusDto status = answerIngestionService.getStatus(queued.getTrackingId()).orElseThrow().status();
+            if (status.getStatus() != AnswerIngestionStatusDto.Status.QUEUED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Answer " + queued.getTrackingId() + " was not written in time");
+    }
+}
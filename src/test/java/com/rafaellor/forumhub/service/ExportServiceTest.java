@@ -0,0 +1,99 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.dto.ExportFormat;
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("dev")
+@Import(ExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User(null, "Export Author", "export@test.com", "export.author", "password", null);
+        em.persist(author);
+        Course course = new Course(null, "Exports", "Analytics");
+        em.persist(course);
+        Topic topic = new Topic("Export title", "Message with a comma, and a \"quote\"", author, course);
+        em.persist(topic);
+        em.persist(new Answer("First exported answer", topic, author));
+        em.persist(new Answer("Second exported answer", topic, author));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line for each topic")
+    void exportTopics_asNdjson_shouldWriteOneLinePerRow() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.exportTopics(out, ExportFormat.NDJSON);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(1);
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).contains("\"title\":\"Export title\"", "\"authorUsername\":\"export.author\"");
+    }
+
+    @Test
+    @DisplayName("Should start every NDJSON line with the JSON object itself")
+    void exportAnswers_asNdjson_shouldNotPrefixLaterLines() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.exportAnswers(out, ExportFormat.NDJSON);
+
+        // Assert: a shared generator would otherwise put a space before every root value after the first
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{").endsWith("}"));
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields that need escaping")
+    void exportAnswersAndTopics_asCsv_shouldEscapeFields() throws Exception {
+        // Arrange
+        ByteArrayOutputStream topics = new ByteArrayOutputStream();
+        ByteArrayOutputStream answers = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportTopics(topics, ExportFormat.CSV);
+        long answerRows = exportService.exportAnswers(answers, ExportFormat.CSV);
+
+        // Assert
+        assertThat(topics.toString(StandardCharsets.UTF_8))
+                .startsWith("id,title,message,creation_date,status,author,course,answer_count,last_answer_at,solved_answer_id\n")
+                .contains(",Export title,\"Message with a comma, and a \"\"quote\"\"\",");
+        assertThat(answerRows).isEqualTo(2);
+        assertThat(answers.toString(StandardCharsets.UTF_8).split("\n")).hasSize(3);
+    }
+}
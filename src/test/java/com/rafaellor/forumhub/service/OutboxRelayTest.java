@@ -0,0 +1,206 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.model.OutboxEvent;
+import com.rafaellor.forumhub.model.OutboxEventType;
+import com.rafaellor.forumhub.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("dev")
+@Import({OutboxService.class, OutboxRelay.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TestConfiguration
+    static class HandlerConfig {
+        @Bean
+        public RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements OutboxHandler {
+        private final List<OutboxEvent> received = new ArrayList<>();
+        private Long failingTopicId;
+        private boolean failCommit;
+        // A batch holding an event for this topic can never be committed
+        private Long poisonTopicId;
+        private final List<Long> batch = new ArrayList<>();
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (event.getTopicId().equals(failingTopicId)) {
+                throw new IllegalStateException("handler unavailable");
+            }
+            received.add(event);
+            batch.add(event.getTopicId());
+        }
+
+        @Override
+        public void commitBatch() {
+            boolean poisoned = batch.contains(poisonTopicId);
+            batch.clear();
+            if (failCommit || poisoned) {
+                throw new IllegalStateException("index unavailable");
+            }
+        }
+    }
+
+    private Object maxAttempts;
+    private Object retryBackoff;
+
+    @BeforeEach
+    void setUp() {
+        handler.received.clear();
+        handler.batch.clear();
+        handler.failingTopicId = null;
+        handler.failCommit = false;
+        handler.poisonTopicId = null;
+        maxAttempts = ReflectionTestUtils.getField(outboxRelay, "maxAttempts");
+        retryBackoff = ReflectionTestUtils.getField(outboxRelay, "retryBackoff");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(outboxRelay, "retryBackoff", retryBackoff);
+    }
+
+    @Test
+    @DisplayName("Should deliver recorded events in order and remove them from the outbox")
+    void relay_shouldDeliverAndDelete() {
+        // Arrange
+        outboxService.record(OutboxEventType.TOPIC_CREATED, 1L, null, new Snapshot("First"));
+        outboxService.record(OutboxEventType.ANSWER_CREATED, 1L, 7L, new Snapshot("Reply"));
+
+        // Act
+        int delivered = outboxRelay.relay();
+
+        // Assert
+        assertThat(delivered).isEqualTo(2);
+        assertThat(handler.received).extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEventType.TOPIC_CREATED, OutboxEventType.ANSWER_CREATED);
+        assertThat(handler.received.get(1).getPayload()).isEqualTo("{\"title\":\"Reply\"}");
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("forumhub.outbox.delivered").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("forumhub.outbox.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a failed event and schedule it for a later attempt")
+    void relay_withFailingHandler_shouldRescheduleEvent() {
+        // Arrange
+        handler.failingTopicId = 2L;
+        outboxService.record(OutboxEventType.TOPIC_UPDATED, 2L, null, null);
+        outboxService.record(OutboxEventType.TOPIC_UPDATED, 3L, null, null);
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        assertThat(handler.received).extracting(OutboxEvent::getTopicId).containsExactly(3L);
+        List<OutboxEvent> remaining = outboxRepository.findAll();
+        assertThat(remaining).hasSize(1);
+        assertThat(remaining.getFirst().getAttempts()).isEqualTo(1);
+        assertThat(remaining.getFirst().getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(remaining.getFirst().getLastError()).contains("handler unavailable");
+    }
+
+    @Test
+    @DisplayName("Should keep every row of a batch that a handler could not commit and schedule it for a later attempt")
+    void relay_whenCommitBatchFails_shouldRescheduleRows() {
+        // Arrange
+        handler.failCommit = true;
+        outboxService.record(OutboxEventType.TOPIC_UPDATED, 4L, null, null);
+        outboxService.record(OutboxEventType.ANSWER_CREATED, 5L, null, null);
+
+        // Act
+        int delivered = outboxRelay.relay();
+
+        // Assert
+        assertThat(delivered).isZero();
+        List<OutboxEvent> remaining = outboxRepository.findAll();
+        assertThat(remaining).extracting(OutboxEvent::getTopicId).containsExactlyInAnyOrder(4L, 5L);
+        assertThat(remaining).allSatisfy(event -> {
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+            assertThat(event.getLastError()).contains("index unavailable");
+        });
+    }
+
+    @Test
+    @DisplayName("Should park a batch that can never be committed and keep relaying the events recorded after it")
+    void relay_withPoisonBatch_shouldMovePastIt() {
+        // Arrange
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 2);
+        ReflectionTestUtils.setField(outboxRelay, "retryBackoff", Duration.ZERO);
+        handler.poisonTopicId = 6L;
+        outboxService.record(OutboxEventType.TOPIC_UPDATED, 6L, null, null);
+        outboxRelay.relay();
+        outboxRelay.relay();
+        outboxService.record(OutboxEventType.TOPIC_UPDATED, 7L, null, null);
+        handler.received.clear();
+
+        // Act
+        int delivered = outboxRelay.relay();
+
+        // Assert
+        assertThat(delivered).isEqualTo(1);
+        assertThat(handler.received).extracting(OutboxEvent::getTopicId).containsExactly(7L);
+        List<OutboxEvent> remaining = outboxRepository.findAll();
+        assertThat(remaining).extracting(OutboxEvent::getTopicId).containsExactly(6L);
+        assertThat(remaining.getFirst().getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should refuse to record an event outside of a transaction")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void record_withoutTransaction_shouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> outboxService.record(OutboxEventType.TOPIC_DELETED, 1L, null, null))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    record Snapshot(String title) {
+    }
+}
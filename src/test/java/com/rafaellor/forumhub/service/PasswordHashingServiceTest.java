@@ -0,0 +1,89 @@
+package com.rafaellor.forumhub.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService passwordHashingService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "meterRegistry", meterRegistry);
+        passwordHashingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the task on the hashing pool and record its latency")
+    void submit_shouldCompleteAndRecordTimer() {
+        // Act
+        String hash = passwordHashingService.submit("register", () -> Thread.currentThread().getName()).join();
+
+        // Assert
+        assertTrue(hash.startsWith("password-hashing-"));
+        assertEquals(1, meterRegistry.get("forumhub.password.hashing").tag("operation", "register").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should wait for the pooled task and rethrow its exception unwrapped")
+    void call_shouldReturnResultAndUnwrapException() {
+        // Act
+        String thread = passwordHashingService.call("matches", () -> Thread.currentThread().getName());
+
+        // Assert
+        assertTrue(thread.startsWith("password-hashing-"));
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> passwordHashingService.call("matches", () -> {
+                    throw new IllegalStateException("bad hash");
+                }));
+        assertEquals("bad hash", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject immediately once the worker and the queue are full")
+    void submit_whenSaturated_shouldReject() {
+        // Arrange: one task occupies the only thread, a second one fills the queue
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = passwordHashingService.submit("login", () -> {
+            awaitQuietly(release);
+            return null;
+        });
+        CompletableFuture<Void> queued = passwordHashingService.submit("login", () -> null);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> passwordHashingService.submit("login", () -> null));
+        assertEquals(1.0, meterRegistry.get("forumhub.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        running.join();
+        queued.join();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
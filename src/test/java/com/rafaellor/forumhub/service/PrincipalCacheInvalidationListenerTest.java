@@ -0,0 +1,50 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.model.Profile;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.ProfileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("dev")
+class PrincipalCacheInvalidationListenerTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @MockitoBean
+    private PrincipalCacheService principalCacheService;
+
+    @Test
+    @DisplayName("Should invalidate the cached principal when only the profiles of a user change")
+    void profilesChange_shouldInvalidatePrincipal() {
+        // Arrange
+        Profile userProfile = profileRepository.findByName("ROLE_USER").orElseThrow();
+        Profile adminProfile = profileRepository.findByName("ROLE_ADMIN").orElseThrow();
+        User user = em.persistFlushFind(new User(null, "Promoted", "promoted@test.com", "promoted.user", "password",
+                new HashSet<>(Set.of(userProfile))));
+        clearInvocations(principalCacheService);
+
+        // Act
+        user.getProfiles().add(adminProfile);
+        em.flush();
+
+        // Assert
+        verify(principalCacheService).invalidate("promoted.user");
+    }
+}
@@ -0,0 +1,79 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheServiceTest {
+
+    private PrincipalCacheService principalCacheService;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCacheService = new PrincipalCacheService();
+        ReflectionTestUtils.setField(principalCacheService, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCacheService, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(principalCacheService, "meterRegistry", meterRegistry);
+        principalCacheService.init();
+        loads = new AtomicInteger();
+    }
+
+    private User load(String username) {
+        loads.incrementAndGet();
+        return new User(1L, "Test User", "test@user.com", username, "password", null);
+    }
+
+    @Test
+    @DisplayName("Should load a user once and serve later lookups from the cache")
+    void get_shouldLoadOnlyOnce() {
+        // Act
+        User first = principalCacheService.get("test.user", this::load);
+        User second = principalCacheService.get("test.user", this::load);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get(), "The loader should only run on the first lookup");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principalCache").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "principalCache").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reload a user after it has been invalidated")
+    void invalidate_shouldForceReload() {
+        // Arrange
+        principalCacheService.get("test.user", this::load);
+
+        // Act
+        principalCacheService.invalidate("test.user");
+        principalCacheService.get("test.user", this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a missing user")
+    void get_withUnknownUser_shouldNotCacheNull() {
+        // Act
+        User missing = principalCacheService.get("ghost", username -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        principalCacheService.get("ghost", this::load);
+
+        // Assert
+        assertNull(missing);
+        assertEquals(2, loads.get());
+    }
+}
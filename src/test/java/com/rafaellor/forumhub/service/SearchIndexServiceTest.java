@@ -0,0 +1,168 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.dto.TopicResponseDto;
+import com.rafaellor.forumhub.model.Answer;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.OutboxEvent;
+import com.rafaellor.forumhub.model.OutboxEventType;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("dev")
+@Import(SearchIndexService.class)
+class SearchIndexServiceTest {
+
+    @TempDir
+    static Path indexDir;
+
+    @DynamicPropertySource
+    static void indexProperties(DynamicPropertyRegistry registry) {
+        registry.add("api.search.index-dir", () -> indexDir.toString());
+    }
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Topic titleMatch;
+    private Topic answerMatch;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User author = new User(null, "Search Author", "search@test.com", "search.author", "password", null);
+        em.persist(author);
+        Course course = new Course(null, "Search", "Backend");
+        em.persist(course);
+        answerMatch = new Topic("Connection pool sizing", "How many connections does Hikari need?", author, course);
+        em.persist(answerMatch);
+        em.persist(new Answer("Measure first, then tune the configuração of the pool", answerMatch, author));
+        titleMatch = new Topic("Configuração do Flyway", "Migrations run twice on startup", author, course);
+        em.persist(titleMatch);
+        em.persist(new Topic("Unrelated topic", "Nothing to see here", author, course));
+        em.flush();
+
+        searchIndexService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should find topics by answer text and rank title matches first")
+    void search_shouldMatchAnswersAndRankTitlesFirst() throws Exception {
+        // Act
+        Page<TopicResponseDto> results = searchIndexService.search("configuracao", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(results.getTotalElements()).isEqualTo(2);
+        assertThat(results.getContent()).extracting(TopicResponseDto::getId)
+                .containsExactly(titleMatch.getId(), answerMatch.getId());
+    }
+
+    @Test
+    @DisplayName("Should require every term and treat query syntax literally")
+    void search_shouldRequireAllTermsLiterally() throws Exception {
+        // Act
+        Page<TopicResponseDto> allTerms = searchIndexService.search("hikari connections", PageRequest.of(0, 10));
+        Page<TopicResponseDto> oneMissing = searchIndexService.search("hikari flyway", PageRequest.of(0, 10));
+        Page<TopicResponseDto> syntax = searchIndexService.search("hikari\")(", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(allTerms.getContent()).extracting(TopicResponseDto::getId).containsExactly(answerMatch.getId());
+        assertThat(oneMissing.getContent()).isEmpty();
+        assertThat(syntax.getContent()).extracting(TopicResponseDto::getId).containsExactly(answerMatch.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject blank text and pages beyond the result window")
+    void search_withInvalidRequest_shouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> searchIndexService.search(" ", PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchIndexService.search("pool", PageRequest.of(100, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should drop a topic that no longer exists and commit the batch to disk")
+    void commitBatch_withMissingTopic_shouldRemoveDocumentDurably() throws Exception {
+        // Arrange: rolling back removes the topics from the database, but not from the index
+        TestTransaction.end();
+        searchIndexService.handle(new OutboxEvent(OutboxEventType.TOPIC_DELETED, answerMatch.getId(), null, null));
+
+        // Act
+        searchIndexService.commitBatch();
+
+        // Assert: a reader on the directory only sees committed changes
+        assertThat(searchIndexService.search("hikari", PageRequest.of(0, 10)).getTotalElements()).isZero();
+        try (Directory directory = FSDirectory.open(indexDir); DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertThat(reader.numDocs()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the previous index when a rebuild cannot open its transaction")
+    void rebuild_whenTransactionCannotStart_shouldRollBackDeleteAll() throws Exception {
+        // Arrange
+        Object readOnlyTransaction = ReflectionTestUtils.getField(searchIndexService, "readOnlyTransaction");
+        PlatformTransactionManager failing = mock(PlatformTransactionManager.class);
+        when(failing.getTransaction(any())).thenThrow(new CannotCreateTransactionException("pool exhausted"));
+        ReflectionTestUtils.setField(searchIndexService, "readOnlyTransaction", new TransactionTemplate(failing));
+
+        try {
+            // Act & Assert
+            assertThatThrownBy(() -> searchIndexService.rebuild()).isInstanceOf(CannotCreateTransactionException.class);
+        } finally {
+            ReflectionTestUtils.setField(searchIndexService, "readOnlyTransaction", readOnlyTransaction);
+        }
+        assertThat(searchIndexService.search("configuracao", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail the batch when the index cannot be written and recover for the redelivery")
+    void commitBatch_whenWriteFails_shouldThrowAndReopenWriter() throws Exception {
+        // Arrange
+        TestTransaction.end();
+        ((IndexWriter) ReflectionTestUtils.getField(searchIndexService, "writer")).close();
+        OutboxEvent event = new OutboxEvent(OutboxEventType.TOPIC_DELETED, answerMatch.getId(), null, null);
+        searchIndexService.handle(event);
+
+        // Act & Assert: the relay keeps the rows and delivers the batch again
+        assertThatThrownBy(() -> searchIndexService.commitBatch()).isInstanceOf(AlreadyClosedException.class);
+
+        searchIndexService.handle(event);
+        searchIndexService.commitBatch();
+        assertThat(searchIndexService.search("hikari", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package com.rafaellor.forumhub.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.rafaellor.forumhub.model.Profile;
+import com.rafaellor.forumhub.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "test-secret";
+
+    private TokenService tokenService;
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        tokenService.init();
+        verifiedTokens = (Cache<String, DecodedJWT>) ReflectionTestUtils.getField(tokenService, "verifiedTokens");
+    }
+
+    private static String tokenExpiringAt(Instant expiresAt) {
+        return JWT.create()
+                .withIssuer("API Forum Hub")
+                .withSubject("token.user")
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Test
+    @DisplayName("Should keep a verified token in the cache only until its exp claim")
+    void verify_shouldExpireCacheEntryAtTokenExpiration() {
+        // Arrange
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(10));
+        String token = tokenExpiringAt(expiresAt);
+
+        // Act
+        tokenService.verify(token);
+
+        // Assert
+        Duration expiresAfter = verifiedTokens.policy().expireVariably().orElseThrow()
+                .getExpiresAfter(token).orElseThrow();
+        Duration untilExp = Duration.between(Instant.now(), expiresAt);
+        assertTrue(expiresAfter.compareTo(untilExp) <= 0, "Entry must not outlive the token");
+        assertTrue(expiresAfter.compareTo(untilExp.minusSeconds(2)) > 0, "Entry should live until the token expires");
+    }
+
+    @Test
+    @DisplayName("Should stop serving a cached token once it has expired")
+    void verify_afterExpiration_shouldThrow() throws InterruptedException {
+        // Arrange
+        String token = tokenExpiringAt(Instant.now().plusSeconds(2));
+        assertEquals("token.user", tokenService.getSubject(token));
+
+        // Act
+        Thread.sleep(2500);
+
+        // Assert
+        assertThrows(RuntimeException.class, () -> tokenService.getSubject(token));
+        assertNull(verifiedTokens.getIfPresent(token));
+    }
+
+    @Test
+    @DisplayName("Should not cache a token that is already expired")
+    void verify_withExpiredToken_shouldNotCache() {
+        // Arrange
+        String token = tokenExpiringAt(Instant.now().minusSeconds(60));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> tokenService.verify(token));
+        assertNull(verifiedTokens.getIfPresent(token));
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered token even when the original is cached")
+    void verify_withTamperedToken_shouldThrow() {
+        // Arrange
+        User user = new User(3L, "Token User", "token@test.com", "token.user", "password", Set.of(new Profile(1L, "ROLE_USER")));
+        String token = tokenService.generateToken(user);
+        tokenService.verify(token);
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1])).replace("token.user", "admin.user");
+        String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes()) + "." + parts[2];
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> tokenService.verify(tampered));
+        assertNull(verifiedTokens.getIfPresent(tampered));
+        assertEquals("token.user", tokenService.getSubject(token));
+    }
+}
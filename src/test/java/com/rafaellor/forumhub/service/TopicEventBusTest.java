@@ -0,0 +1,81 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.dto.AnswerResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicEventBusTest {
+
+    private TopicEventBus topicEventBus;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        topicEventBus = new TopicEventBus();
+        ReflectionTestUtils.setField(topicEventBus, "bufferSize", 2);
+        ReflectionTestUtils.setField(topicEventBus, "maxSubscribers", 1);
+        ReflectionTestUtils.setField(topicEventBus, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(topicEventBus, "meterRegistry", meterRegistry);
+        topicEventBus.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        topicEventBus.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject new streams once the subscriber limit is reached")
+    void subscribe_whenFull_shouldReject() {
+        // Arrange
+        topicEventBus.subscribe(1L);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> topicEventBus.subscribe(2L));
+        assertEquals(1.0, meterRegistry.get("forumhub.events.subscribers").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose buffer overflows and free its slot")
+    void publish_toSlowSubscriber_shouldDropIt() {
+        // Arrange: the only sender thread is busy, so nothing is drained from the buffer
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService blockedSenders = Executors.newSingleThreadExecutor();
+        blockedSenders.execute(() -> awaitQuietly(release));
+        ReflectionTestUtils.setField(topicEventBus, "senders", blockedSenders);
+        topicEventBus.subscribe(1L);
+        AnswerResponseDto answer = new AnswerResponseDto(5L, "Answer", LocalDateTime.now(), "author", false);
+
+        // Act: the connection comment and one event fill the buffer, the next one overflows it
+        topicEventBus.publish(1L, "answer-created", 5L, answer);
+        topicEventBus.publish(1L, "answer-updated", 5L, answer);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("forumhub.events.dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("forumhub.events.subscribers").gauge().value());
+        assertDoesNotThrow(() -> topicEventBus.subscribe(1L));
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
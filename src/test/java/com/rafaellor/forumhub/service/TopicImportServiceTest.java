@@ -0,0 +1,156 @@
+package com.rafaellor.forumhub.service;
+
+import com.rafaellor.forumhub.dto.ImportReportDto;
+import com.rafaellor.forumhub.model.Course;
+import com.rafaellor.forumhub.model.OutboxEvent;
+import com.rafaellor.forumhub.model.OutboxEventType;
+import com.rafaellor.forumhub.model.Topic;
+import com.rafaellor.forumhub.model.User;
+import com.rafaellor.forumhub.repository.AnswerRepository;
+import com.rafaellor.forumhub.repository.CourseRepository;
+import com.rafaellor.forumhub.repository.OutboxRepository;
+import com.rafaellor.forumhub.repository.TopicRepository;
+import com.rafaellor.forumhub.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional, so every chunk commits on its own as it does in production
+@DataJpaTest(properties = "api.admin.import.chunk-size=2")
+@ActiveProfiles("dev")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TopicImportService.class, OutboxService.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class TopicImportServiceTest {
+
+    @Autowired
+    private TopicImportService topicImportService;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should import valid lines in chunks and report duplicates and invalid lines")
+    void importTopics_shouldImportAndReport() throws Exception {
+        // Arrange
+        User author = userRepository.save(new User(null, "Legacy Author", "legacy@test.com", "legacy.author", "password", null));
+        Course course = courseRepository.save(new Course(null, "Legacy Course", "Migration"));
+        topicRepository.save(new Topic("Already migrated", "This topic was imported before", author, course));
+
+        long courseId = course.getId();
+        String ndjson = String.join("\n",
+                """
+                {"title":"Legacy topic one","message":"First legacy message body","courseId":%d,"authorUsername":"legacy.author","creationDate":"2020-01-02T10:00:00","answers":[{"message":"A reply","authorUsername":"legacy.author"},{"message":"The fix","authorUsername":"legacy.author","solution":true}]}""".formatted(courseId),
+                """
+                {"title":"Already migrated","message":"Same title as an existing topic","courseId":%d,"authorUsername":"legacy.author"}""".formatted(courseId),
+                "{not json",
+                "",
+                """
+                {"title":"Legacy topic two","message":"Second legacy message body","courseId":%d,"authorUsername":"ghost.user"}""".formatted(courseId),
+                """
+                {"title":"Legacy topic three","message":"  FIRST legacy   message body ","courseId":%d,"authorUsername":"legacy.author"}""".formatted(courseId),
+                """
+                {"title":"Bad","message":"short","courseId":%d,"authorUsername":"legacy.author"}""".formatted(courseId));
+
+        // Act
+        ImportReportDto report = topicImportService.importTopics(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(report.getLinesRead()).isEqualTo(6);
+        assertThat(report.getTopicsImported()).isEqualTo(1);
+        assertThat(report.getAnswersImported()).isEqualTo(2);
+        assertThat(report.getDuplicatesSkipped()).isEqualTo(2);
+        assertThat(report.getInvalidLines()).isEqualTo(3);
+        assertThat(report.getFailedLines()).isZero();
+        assertThat(report.getErrors()).anyMatch(error -> error.startsWith("line 3: malformed JSON"));
+        assertThat(report.getErrors()).anyMatch(error -> error.startsWith("line 5: author not found: ghost.user"));
+
+        assertThat(topicRepository.existsByTitle("Legacy topic one")).isTrue();
+        Topic imported = topicRepository.findAll().stream()
+                .filter(topic -> topic.getTitle().equals("Legacy topic one"))
+                .findFirst().orElseThrow();
+        assertThat(answerRepository.countByTopicId(imported.getId())).isEqualTo(2);
+        assertThat(imported.getAnswerCount()).isEqualTo(2);
+        assertThat(imported.getSolvedAnswerId()).isNotNull();
+        assertThat(imported.getStatus()).isFalse();
+        assertThat(outboxRepository.findAll()).filteredOn(event -> event.getTopicId().equals(imported.getId()))
+                .extracting(OutboxEvent::getEventType).containsExactly(OutboxEventType.TOPIC_CREATED);
+    }
+
+    @Test
+    @DisplayName("Should report a chunk the database rejects and keep the request-bound EntityManager empty")
+    void importTopics_withRequestBoundEntityManager_shouldRollBackOnlyTheFailingChunk() throws Exception {
+        // Arrange: bind an EntityManager the way open-in-view does, so every chunk joins it
+        userRepository.save(new User(null, "Bound Author", "bound@test.com", "bound.author", "password", null));
+        long courseId = courseRepository.save(new Course(null, "Bound Course", "Migration")).getId();
+        String line = """
+                {"title":"%s","message":"Message of %s","courseId":%d,"authorUsername":"bound.author"}""";
+        String ndjson = String.join("\n",
+                line.formatted("Bound topic one", "bound topic one", courseId),
+                line.formatted("Bound topic two", "bound topic two", courseId),
+                line.formatted("Rejected by the database", "the rejected topic", courseId),
+                line.formatted("Bound topic four", "bound topic four", courseId),
+                line.formatted("Bound topic five", "bound topic five", courseId));
+        // Only fails at flush time, with an untranslated PersistenceException
+        jdbcTemplate.execute("ALTER TABLE topics ADD CONSTRAINT ck_import_test CHECK (title <> 'Rejected by the database')");
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+
+        ImportReportDto report;
+        try {
+            // Act
+            report = topicImportService.importTopics(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+            // Assert
+            assertThat(requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+            jdbcTemplate.execute("ALTER TABLE topics DROP CONSTRAINT ck_import_test");
+        }
+
+        assertThat(report.getTopicsImported()).isEqualTo(3);
+        assertThat(report.getFailedLines()).isEqualTo(2);
+        assertThat(report.getErrors()).anyMatch(error -> error.startsWith("line 3: chunk up to line 4 rolled back"));
+        assertThat(topicRepository.existsByTitle("Bound topic one")).isTrue();
+        assertThat(topicRepository.existsByTitle("Bound topic four")).isFalse();
+        assertThat(topicRepository.existsByTitle("Bound topic five")).isTrue();
+    }
+}
@@ -0,0 +1,79 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class V4__Add_topic_message_hashTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:v4_message_hash;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE topics (
+                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        title VARCHAR(100) NOT NULL UNIQUE,
+                        message VARCHAR(500) NOT NULL UNIQUE
+                    )
+                    """);
+            // Distinct for the old constraint, equal once case and spacing are normalized
+            statement.execute("INSERT INTO topics (title, message) VALUES ('First', 'Hello   World')");
+            statement.execute("INSERT INTO topics (title, message) VALUES ('Second', 'hello world')");
+            statement.execute("INSERT INTO topics (title, message) VALUES ('Third', 'Something else')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should backfill unique, non-null hashes even when normalized messages collide")
+    void migrate_withNormalizedDuplicates_shouldCreateUniqueIndex() throws Exception {
+        // Arrange
+        Context context = mock(Context.class);
+        when(context.getConnection()).thenReturn(connection);
+
+        // Act
+        new V4__Add_topic_message_hash().migrate(context);
+
+        // Assert
+        Set<String> hashes = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT message_hash FROM topics")) {
+            while (rows.next()) {
+                assertEquals(64, rows.getString(1).length());
+                hashes.add(rows.getString(1));
+            }
+        }
+        assertEquals(3, hashes.size());
+        try (Statement statement = connection.createStatement()) {
+            // The old constraint is gone and the column rejects nulls
+            statement.execute("INSERT INTO topics (title, message, message_hash) VALUES ('Fourth', 'hello world', '"
+                    + "0".repeat(64) + "')");
+            assertThrows(SQLException.class,
+                    () -> statement.execute("INSERT INTO topics (title, message) VALUES ('Fifth', 'Another message')"));
+        }
+    }
+}